@@ -0,0 +1,11 @@
+package com.spring.book.catalog;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveCatalogApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveCatalogApplication.class, args);
+    }
+}
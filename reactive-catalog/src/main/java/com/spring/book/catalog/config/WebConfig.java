@@ -0,0 +1,24 @@
+package com.spring.book.catalog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+    private final int maxPageSize;
+
+    public WebConfig(@Value("${catalog.max-page-size:100}") int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        ReactivePageableHandlerMethodArgumentResolver pageableResolver =
+                new ReactivePageableHandlerMethodArgumentResolver();
+        pageableResolver.setMaxPageSize(maxPageSize);
+        configurer.addCustomResolver(pageableResolver);
+    }
+}
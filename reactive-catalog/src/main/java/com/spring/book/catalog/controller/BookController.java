@@ -0,0 +1,39 @@
+package com.spring.book.catalog.controller;
+
+import com.spring.book.catalog.dto.BookDto;
+import com.spring.book.catalog.dto.BookSearchParametersDto;
+import com.spring.book.catalog.service.BookReadService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/books")
+public class BookController {
+    private final BookReadService bookReadService;
+
+    public BookController(BookReadService bookReadService) {
+        this.bookReadService = bookReadService;
+    }
+
+    @GetMapping
+    public Flux<BookDto> findAll(Pageable pageable) {
+        return bookReadService.findAll(pageable);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<BookDto> findBookById(@PathVariable Long id) {
+        return bookReadService.findById(id);
+    }
+
+    @GetMapping("/search")
+    public Flux<BookDto> search(@ModelAttribute BookSearchParametersDto searchParameters,
+                                Pageable pageable) {
+        return bookReadService.search(searchParameters, pageable);
+    }
+}
@@ -0,0 +1,38 @@
+package com.spring.book.catalog.controller;
+
+import com.spring.book.catalog.dto.BookDtoWithoutCategoryIds;
+import com.spring.book.catalog.dto.CategoryDto;
+import com.spring.book.catalog.service.CategoryReadService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+    private final CategoryReadService categoryReadService;
+
+    public CategoryController(CategoryReadService categoryReadService) {
+        this.categoryReadService = categoryReadService;
+    }
+
+    @GetMapping
+    public Flux<CategoryDto> getAll() {
+        return categoryReadService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<CategoryDto> getCategoryById(@PathVariable Long id) {
+        return categoryReadService.findById(id);
+    }
+
+    @GetMapping("/{id}/books")
+    public Flux<BookDtoWithoutCategoryIds> getBooksByCategory(@PathVariable Long id,
+                                                              Pageable pageable) {
+        return categoryReadService.getBooksByCategoryId(id, pageable);
+    }
+}
@@ -0,0 +1,17 @@
+package com.spring.book.catalog.dto;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public record BookDto(
+        Long id,
+        String title,
+        String author,
+        String isbn,
+        BigDecimal price,
+        String description,
+        String coverImage,
+        String coverThumbnailSmall,
+        String coverThumbnailMedium,
+        Set<Long> categoryIds) {
+}
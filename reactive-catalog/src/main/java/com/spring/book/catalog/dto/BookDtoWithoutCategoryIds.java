@@ -0,0 +1,15 @@
+package com.spring.book.catalog.dto;
+
+import java.math.BigDecimal;
+
+public record BookDtoWithoutCategoryIds(
+        Long id,
+        String title,
+        String author,
+        String isbn,
+        BigDecimal price,
+        String description,
+        String coverImage,
+        String coverThumbnailSmall,
+        String coverThumbnailMedium) {
+}
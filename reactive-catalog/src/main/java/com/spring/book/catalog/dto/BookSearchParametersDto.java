@@ -0,0 +1,11 @@
+package com.spring.book.catalog.dto;
+
+import java.math.BigDecimal;
+
+public record BookSearchParametersDto(String[] titles,
+                                      String[] authors,
+                                      String[] isbns,
+                                      BigDecimal minPrice,
+                                      BigDecimal maxPrice,
+                                      Long[] categoryIds) {
+}
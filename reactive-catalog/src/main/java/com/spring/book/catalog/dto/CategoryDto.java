@@ -0,0 +1,4 @@
+package com.spring.book.catalog.dto;
+
+public record CategoryDto(Long id, String name, String description) {
+}
@@ -0,0 +1,7 @@
+package com.spring.book.catalog.exception;
+
+public class BookNotFoundException extends RuntimeException {
+    public BookNotFoundException(Long id) {
+        super("Book with ID " + id + " not found");
+    }
+}
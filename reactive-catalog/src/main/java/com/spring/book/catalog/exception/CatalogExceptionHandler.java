@@ -0,0 +1,34 @@
+package com.spring.book.catalog.exception;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Renders errors in the same body layout as the book-management API.
+ */
+@RestControllerAdvice
+public class CatalogExceptionHandler {
+    @ExceptionHandler({BookNotFoundException.class, CategoryNotFoundException.class})
+    public ResponseEntity<Object> handleNotFound(RuntimeException ex) {
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Object> handleInvalidSort(InvalidSortException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<Object> buildErrorResponse(Exception ex, HttpStatus status) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("statusCode", status.value());
+        body.put("errors", List.of(ex.getMessage()));
+        return new ResponseEntity<>(body, status);
+    }
+}
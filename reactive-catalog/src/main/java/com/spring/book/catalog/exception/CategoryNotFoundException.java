@@ -0,0 +1,7 @@
+package com.spring.book.catalog.exception;
+
+public class CategoryNotFoundException extends RuntimeException {
+    public CategoryNotFoundException(Long categoryId) {
+        super("Category not found with id: " + categoryId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.spring.book.catalog.exception;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String property) {
+        super("Sorting by " + property + " is not supported");
+    }
+}
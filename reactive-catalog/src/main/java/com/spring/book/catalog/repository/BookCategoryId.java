@@ -0,0 +1,4 @@
+package com.spring.book.catalog.repository;
+
+public record BookCategoryId(Long bookId, Long categoryId) {
+}
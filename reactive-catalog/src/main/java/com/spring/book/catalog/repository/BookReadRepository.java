@@ -0,0 +1,149 @@
+package com.spring.book.catalog.repository;
+
+import com.spring.book.catalog.dto.BookDtoWithoutCategoryIds;
+import com.spring.book.catalog.dto.BookSearchParametersDto;
+import com.spring.book.catalog.exception.InvalidSortException;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads the book-management {@code books} tables with plain SQL over R2DBC. The filters and
+ * the sortable columns mirror the JPA specifications of the main application.
+ */
+@Repository
+public class BookReadRepository {
+    private static final String SELECT_BOOKS = "SELECT b.id, b.title, b.author, b.isbn, "
+            + "b.price, b.description, b.cover_image, b.cover_thumbnail_small, "
+            + "b.cover_thumbnail_medium FROM books b";
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "b.id",
+            "title", "b.title",
+            "author", "b.author",
+            "isbn", "b.isbn",
+            "price", "b.price");
+
+    private final DatabaseClient databaseClient;
+
+    public BookReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<BookDtoWithoutCategoryIds> findById(Long id) {
+        return databaseClient.sql(SELECT_BOOKS + " WHERE b.id = :id AND b.is_deleted = false")
+                .bind("id", id)
+                .map(BookReadRepository::toRow)
+                .one();
+    }
+
+    public Flux<BookDtoWithoutCategoryIds> findAll(Pageable pageable) {
+        return findRows(new Filter(), pageable);
+    }
+
+    public Flux<BookDtoWithoutCategoryIds> search(BookSearchParametersDto params,
+                                                  Pageable pageable) {
+        Filter filter = new Filter();
+        filter.in("b.title", "titles", params.titles());
+        filter.in("b.author", "authors", params.authors());
+        filter.in("b.isbn", "isbns", params.isbns());
+        if (params.minPrice() != null) {
+            filter.add("b.price >= :minPrice", "minPrice", params.minPrice());
+        }
+        if (params.maxPrice() != null) {
+            filter.add("b.price <= :maxPrice", "maxPrice", params.maxPrice());
+        }
+        if (params.categoryIds() != null && params.categoryIds().length > 0) {
+            filter.add("b.id IN (SELECT bc.book_id FROM books_categories bc "
+                    + "WHERE bc.category_id IN (:categoryIds))",
+                    "categoryIds", Arrays.asList(params.categoryIds()));
+        }
+        return findRows(filter, pageable);
+    }
+
+    public Flux<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId, Pageable pageable) {
+        Filter filter = new Filter();
+        filter.add("b.id IN (SELECT bc.book_id FROM books_categories bc "
+                + "WHERE bc.category_id = :categoryId)", "categoryId", categoryId);
+        return findRows(filter, pageable);
+    }
+
+    public Flux<BookCategoryId> findCategoryIds(Collection<Long> bookIds) {
+        return databaseClient.sql("SELECT bc.book_id, bc.category_id FROM books_categories bc "
+                        + "JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false "
+                        + "WHERE bc.book_id IN (:bookIds)")
+                .bind("bookIds", bookIds)
+                .map(row -> new BookCategoryId(row.get("book_id", Long.class),
+                        row.get("category_id", Long.class)))
+                .all();
+    }
+
+    private Flux<BookDtoWithoutCategoryIds> findRows(Filter filter, Pageable pageable) {
+        String sql = SELECT_BOOKS + " WHERE " + String.join(" AND ", filter.clauses)
+                + " ORDER BY " + orderBy(pageable.getSort())
+                + " LIMIT :limit OFFSET :offset";
+        DatabaseClient.GenericExecuteSpec query = databaseClient.sql(sql)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset());
+        for (Map.Entry<String, Object> bind : filter.binds.entrySet()) {
+            query = query.bind(bind.getKey(), bind.getValue());
+        }
+        return query.map(BookReadRepository::toRow).all();
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidSortException(order.getProperty());
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // The id breaks ties so that pages never overlap.
+        if (sort.getOrderFor("id") == null) {
+            orderBy.add("b.id ASC");
+        }
+        return orderBy.toString();
+    }
+
+    private static BookDtoWithoutCategoryIds toRow(Readable row) {
+        return new BookDtoWithoutCategoryIds(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("author", String.class),
+                row.get("isbn", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("description", String.class),
+                row.get("cover_image", String.class),
+                row.get("cover_thumbnail_small", String.class),
+                row.get("cover_thumbnail_medium", String.class));
+    }
+
+    private static final class Filter {
+        private final List<String> clauses = new ArrayList<>(List.of("b.is_deleted = false"));
+        private final Map<String, Object> binds = new LinkedHashMap<>();
+
+        private void add(String clause, String name, Object value) {
+            clauses.add(clause);
+            binds.put(name, value);
+        }
+
+        private void in(String column, String name, String[] values) {
+            if (values != null && values.length > 0) {
+                add(column + " IN (:" + name + ")", name, Arrays.asList(values));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.spring.book.catalog.repository;
+
+import com.spring.book.catalog.dto.CategoryDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class CategoryReadRepository {
+    private static final String SELECT_CATEGORIES =
+            "SELECT c.id, c.name, c.description FROM categories c WHERE c.is_deleted = false";
+
+    private final DatabaseClient databaseClient;
+
+    public CategoryReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<CategoryDto> findAll() {
+        return databaseClient.sql(SELECT_CATEGORIES + " ORDER BY c.id")
+                .map(CategoryReadRepository::toDto)
+                .all();
+    }
+
+    public Mono<CategoryDto> findById(Long id) {
+        return databaseClient.sql(SELECT_CATEGORIES + " AND c.id = :id")
+                .bind("id", id)
+                .map(CategoryReadRepository::toDto)
+                .one();
+    }
+
+    private static CategoryDto toDto(Readable row) {
+        return new CategoryDto(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class));
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.book.catalog.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public class UserRoleRepository {
+    private final DatabaseClient databaseClient;
+
+    public UserRoleRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<String> findRoleNamesByEmail(String email) {
+        return databaseClient.sql("SELECT r.name FROM users u "
+                        + "JOIN users_roles ur ON ur.user_id = u.id "
+                        + "JOIN roles r ON r.id = ur.role_id "
+                        + "WHERE u.email = :email")
+                .bind("email", email)
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+}
@@ -0,0 +1,52 @@
+package com.spring.book.catalog.security;
+
+import com.spring.book.catalog.repository.UserRoleRepository;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.security.Key;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Accepts the bearer tokens issued by the book-management API, which are signed with the
+ * shared {@code jwt.secret}, and loads the caller's roles from the same users tables.
+ */
+@Component
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
+    private final UserRoleRepository userRoleRepository;
+    private final Key key;
+
+    public JwtAuthenticationManager(UserRoleRepository userRoleRepository,
+                                    @Value("${jwt.secret}") String jwtSecret) {
+        this.userRoleRepository = userRoleRepository;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = authentication.getCredentials().toString();
+        String email;
+        try {
+            email = Jwts.parserBuilder().setSigningKey(key).build()
+                    .parseClaimsJws(token)
+                    .getBody()
+                    .getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Mono.error(new BadCredentialsException("Invalid JWT token", e));
+        }
+        return userRoleRepository.findRoleNamesByEmail(email)
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .collectList()
+                .filter(authorities -> !authorities.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Unknown user")))
+                .map(authorities -> UsernamePasswordAuthenticationToken.authenticated(
+                        email, token, authorities));
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.book.catalog.service;
+
+import com.spring.book.catalog.dto.BookDto;
+import com.spring.book.catalog.dto.BookSearchParametersDto;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BookReadService {
+    Flux<BookDto> findAll(Pageable pageable);
+
+    Mono<BookDto> findById(Long id);
+
+    Flux<BookDto> search(BookSearchParametersDto searchParameters, Pageable pageable);
+}
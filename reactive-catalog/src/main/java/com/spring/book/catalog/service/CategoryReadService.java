@@ -0,0 +1,15 @@
+package com.spring.book.catalog.service;
+
+import com.spring.book.catalog.dto.BookDtoWithoutCategoryIds;
+import com.spring.book.catalog.dto.CategoryDto;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CategoryReadService {
+    Flux<CategoryDto> findAll();
+
+    Mono<CategoryDto> findById(Long id);
+
+    Flux<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long categoryId, Pageable pageable);
+}
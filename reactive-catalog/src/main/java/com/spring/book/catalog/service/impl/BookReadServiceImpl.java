@@ -0,0 +1,66 @@
+package com.spring.book.catalog.service.impl;
+
+import com.spring.book.catalog.dto.BookDto;
+import com.spring.book.catalog.dto.BookDtoWithoutCategoryIds;
+import com.spring.book.catalog.dto.BookSearchParametersDto;
+import com.spring.book.catalog.exception.BookNotFoundException;
+import com.spring.book.catalog.repository.BookCategoryId;
+import com.spring.book.catalog.repository.BookReadRepository;
+import com.spring.book.catalog.service.BookReadService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class BookReadServiceImpl implements BookReadService {
+    private static final int WINDOW_SIZE = 100;
+
+    private final BookReadRepository bookReadRepository;
+
+    public BookReadServiceImpl(BookReadRepository bookReadRepository) {
+        this.bookReadRepository = bookReadRepository;
+    }
+
+    @Override
+    public Flux<BookDto> findAll(Pageable pageable) {
+        return withCategoryIds(bookReadRepository.findAll(pageable));
+    }
+
+    @Override
+    public Mono<BookDto> findById(Long id) {
+        return withCategoryIds(bookReadRepository.findById(id).flux())
+                .next()
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(id)));
+    }
+
+    @Override
+    public Flux<BookDto> search(BookSearchParametersDto searchParameters, Pageable pageable) {
+        return withCategoryIds(bookReadRepository.search(searchParameters, pageable));
+    }
+
+    /**
+     * Completes rows in windows, each with one category query. Windows are processed one
+     * after another, so demand from a slow client propagates back to the row query.
+     */
+    private Flux<BookDto> withCategoryIds(Flux<BookDtoWithoutCategoryIds> rows) {
+        return rows.buffer(WINDOW_SIZE).concatMap(window -> bookReadRepository
+                .findCategoryIds(window.stream().map(BookDtoWithoutCategoryIds::id).toList())
+                .collectMultimap(BookCategoryId::bookId, BookCategoryId::categoryId)
+                .flatMapIterable(categoryIds -> toDtos(window, categoryIds)));
+    }
+
+    private static List<BookDto> toDtos(List<BookDtoWithoutCategoryIds> window,
+                                        Map<Long, Collection<Long>> categoryIds) {
+        return window.stream()
+                .map(row -> new BookDto(row.id(), row.title(), row.author(), row.isbn(),
+                        row.price(), row.description(), row.coverImage(),
+                        row.coverThumbnailSmall(), row.coverThumbnailMedium(),
+                        new HashSet<>(categoryIds.getOrDefault(row.id(), List.of()))))
+                .toList();
+    }
+}
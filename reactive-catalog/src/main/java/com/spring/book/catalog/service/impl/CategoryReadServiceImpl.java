@@ -0,0 +1,42 @@
+package com.spring.book.catalog.service.impl;
+
+import com.spring.book.catalog.dto.BookDtoWithoutCategoryIds;
+import com.spring.book.catalog.dto.CategoryDto;
+import com.spring.book.catalog.exception.CategoryNotFoundException;
+import com.spring.book.catalog.repository.BookReadRepository;
+import com.spring.book.catalog.repository.CategoryReadRepository;
+import com.spring.book.catalog.service.CategoryReadService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class CategoryReadServiceImpl implements CategoryReadService {
+    private final CategoryReadRepository categoryReadRepository;
+    private final BookReadRepository bookReadRepository;
+
+    public CategoryReadServiceImpl(CategoryReadRepository categoryReadRepository,
+                                   BookReadRepository bookReadRepository) {
+        this.categoryReadRepository = categoryReadRepository;
+        this.bookReadRepository = bookReadRepository;
+    }
+
+    @Override
+    public Flux<CategoryDto> findAll() {
+        return categoryReadRepository.findAll();
+    }
+
+    @Override
+    public Mono<CategoryDto> findById(Long id) {
+        return categoryReadRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CategoryNotFoundException(id)));
+    }
+
+    @Override
+    public Flux<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long categoryId,
+                                                                Pageable pageable) {
+        return findById(categoryId)
+                .thenMany(bookReadRepository.findByCategoryId(categoryId, pageable));
+    }
+}
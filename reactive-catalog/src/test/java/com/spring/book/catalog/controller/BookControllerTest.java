@@ -0,0 +1,91 @@
+package com.spring.book.catalog.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.spring.book.catalog.dto.BookDto;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class BookControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void createToken() {
+        bearerToken = "Bearer " + Jwts.builder()
+                .setSubject("user@gmail.com")
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .compact();
+    }
+
+    @Test
+    void findAll_ReturnsBooksWithCategoryIds() {
+        List<BookDto> books = webTestClient.get()
+                .uri("/api/books?sort=id")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(books).extracting(BookDto::id).containsExactly(1L, 2L);
+        assertThat(books.get(0).categoryIds()).isEqualTo(Set.of(1L));
+        assertThat(books.get(1).categoryIds()).isEmpty();
+    }
+
+    @Test
+    void findBookById_DeletedBook_ReturnsNotFound() {
+        webTestClient.get()
+                .uri("/api/books/3")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void search_ByAuthor_ReturnsOnlyMatches() {
+        webTestClient.get()
+                .uri("/api/books/search?authors=test")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookDto.class)
+                .value(books -> assertThat(books).extracting(BookDto::title)
+                        .containsExactly("test1"));
+    }
+
+    @Test
+    void findAll_UnsupportedSort_ReturnsBadRequest() {
+        webTestClient.get()
+                .uri("/api/books?sort=description")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void findAll_WithoutToken_ReturnsUnauthorized() {
+        webTestClient.get()
+                .uri("/api/books")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
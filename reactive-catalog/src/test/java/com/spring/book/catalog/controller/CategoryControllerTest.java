@@ -0,0 +1,69 @@
+package com.spring.book.catalog.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.spring.book.catalog.dto.BookDtoWithoutCategoryIds;
+import com.spring.book.catalog.dto.CategoryDto;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class CategoryControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void createToken() {
+        bearerToken = "Bearer " + Jwts.builder()
+                .setSubject("user@gmail.com")
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .compact();
+    }
+
+    @Test
+    void getAll_ReturnsCategories() {
+        webTestClient.get()
+                .uri("/api/categories")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CategoryDto.class)
+                .value(categories -> assertThat(categories).extracting(CategoryDto::name)
+                        .containsExactly("Fiction"));
+    }
+
+    @Test
+    void getBooksByCategory_ReturnsBooksOfCategory() {
+        webTestClient.get()
+                .uri("/api/categories/1/books")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookDtoWithoutCategoryIds.class)
+                .value(books -> assertThat(books).extracting(BookDtoWithoutCategoryIds::id)
+                        .containsExactly(1L));
+    }
+
+    @Test
+    void getBooksByCategory_NonExistentId_ReturnsNotFound() {
+        webTestClient.get()
+                .uri("/api/categories/999/books")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
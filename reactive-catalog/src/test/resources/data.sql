@@ -0,0 +1,14 @@
+INSERT INTO books (id, title, author, isbn, price, description, is_deleted)
+VALUES (1, 'test1', 'test', 'ISBN1', 1.00, 'test', FALSE),
+       (2, 'test2', 'other', 'ISBN2', 2.00, 'test', FALSE),
+       (3, 'deleted', 'test', 'ISBN3', 3.00, 'test', TRUE);
+
+INSERT INTO categories (id, name, description, is_deleted)
+VALUES (1, 'Fiction', 'test', FALSE);
+
+INSERT INTO books_categories (book_id, category_id)
+VALUES (1, 1);
+
+INSERT INTO users (id, email) VALUES (1, 'user@gmail.com');
+INSERT INTO roles (id, name) VALUES (1, 'USER');
+INSERT INTO users_roles (user_id, role_id) VALUES (1, 1);
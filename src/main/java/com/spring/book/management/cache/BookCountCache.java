@@ -0,0 +1,59 @@
+package com.spring.book.management.cache;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.service.BookChangeListener;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookCountCache implements BookChangeListener {
+    private final BookRepository bookRepository;
+    private final long ttlMillis;
+    private final AtomicLong count = new AtomicLong();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile long expiresAt;
+
+    public BookCountCache(BookRepository bookRepository,
+                          @Value("${book.count-cache.ttl:1m}") Duration ttl) {
+        this.bookRepository = bookRepository;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public long get() {
+        if (System.currentTimeMillis() >= expiresAt) {
+            reload();
+        }
+        return count.get();
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        if (created) {
+            count.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        count.decrementAndGet();
+    }
+
+    private void reload() {
+        // Not synchronized: a virtual thread blocked on the query would pin its carrier.
+        reloadLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now < expiresAt) {
+                return;
+            }
+            count.set(bookRepository.count());
+            expiresAt = now + ttlMillis;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
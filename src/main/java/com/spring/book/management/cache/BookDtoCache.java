@@ -0,0 +1,77 @@
+package com.spring.book.management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.service.BookChangeListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// W-TinyLFU admission keeps one-off scans over many ids from evicting hot books.
+@Component
+public class BookDtoCache implements BookChangeListener, MeterBinder {
+    private static final String CACHE_NAME = "book-by-id";
+
+    private final Cache<Long, BookDto> cache;
+    private volatile Timer hitTimer;
+    private volatile Timer missTimer;
+
+    public BookDtoCache(@Value("${book.dto-cache.max-entries:10000}") long maxEntries) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    public BookDto get(Long id, Function<Long, BookDto> loader) {
+        long start = System.nanoTime();
+        AtomicBoolean loaded = new AtomicBoolean();
+        BookDto book = cache.get(id, key -> {
+            loaded.set(true);
+            return loader.apply(key);
+        });
+        record(loaded.get() ? missTimer : hitTimer, start);
+        return book;
+    }
+
+    public Map<Long, BookDto> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        cache.invalidate(book.getId());
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        cache.invalidate(bookId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        hitTimer = Timer.builder("cache.get.latency")
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(registry);
+        missTimer = Timer.builder("cache.get.latency")
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long start) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
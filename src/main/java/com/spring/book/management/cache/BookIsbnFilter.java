@@ -0,0 +1,126 @@
+package com.spring.book.management.cache;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookBatchRepository;
+import com.spring.book.management.service.BookChangeListener;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Deleted ISBNs stay in; the unique constraint on books.isbn backs every false answer.
+@Component
+public class BookIsbnFilter implements BookChangeListener {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long MIN_CAPACITY = 100_000;
+
+    private final BookBatchRepository bookBatchRepository;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Bits bits;
+    private volatile Bits rebuilding;
+
+    public BookIsbnFilter(BookBatchRepository bookBatchRepository) {
+        this.bookBatchRepository = bookBatchRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Only rebuilds are serialized; lookups and saves keep using the current bits.
+        rebuildLock.lock();
+        try {
+            long capacity = Math.max(MIN_CAPACITY, 2 * bookBatchRepository.countAll());
+            Bits next = new Bits(capacity);
+            rebuilding = next;
+            bookBatchRepository.forEachIsbn(next::put);
+            bits = next;
+            rebuilding = null;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // False only when no stored book can have the ISBN.
+    public boolean mightContain(String isbn) {
+        Bits current = bits;
+        return current == null || current.mightContain(isbn);
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        Bits current = bits;
+        if (current != null) {
+            current.put(book.getIsbn());
+        }
+        Bits next = rebuilding;
+        if (next != null) {
+            next.put(book.getIsbn());
+        }
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        // A Bloom filter cannot forget an ISBN; it stays a possible positive.
+    }
+
+    private static long hash(String isbn) {
+        long hash = 0xcbf29ce484222325L;
+        String normalized = isbn.toUpperCase(Locale.ROOT);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ c) * 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash | 1;
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        private Bits(long capacity) {
+            bitCount = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE)
+                    / (Math.log(2) * Math.log(2)));
+            hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        private void put(String isbn) {
+            long hash = hash(isbn);
+            long step = mix(hash);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                long mask = 1L << bit;
+                int index = (int) (bit >>> 6);
+                long word = words.get(index);
+                while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                    word = words.get(index);
+                }
+            }
+        }
+
+        private boolean mightContain(String isbn) {
+            long hash = hash(isbn);
+            long step = mix(hash);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.spring.book.management.cache;
+
+import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.service.BookChangeListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Only first and keyset pages are cached; deletes elsewhere cannot shift them.
+@Component
+public class BookSearchCache implements BookChangeListener, MeterBinder {
+    private static final String CACHE_NAME = "book-search";
+
+    private final int maxEntries;
+    private final Map<SearchKey, List<Long>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long version;
+
+    public BookSearchCache(@Value("${book.search-cache.max-entries:1000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchKey, List<Long>> eldest) {
+                boolean evict = size() > BookSearchCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public synchronized List<Long> get(BookSearchParametersDto searchParameters, String page) {
+        List<Long> bookIds = entries.get(SearchKey.of(searchParameters, page));
+        if (bookIds == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return bookIds;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized void put(BookSearchParametersDto searchParameters,
+                                 String page,
+                                 List<Long> bookIds,
+                                 long loadedAtVersion) {
+        if (loadedAtVersion == version) {
+            entries.put(SearchKey.of(searchParameters, page), List.copyOf(bookIds));
+        }
+    }
+
+    @Override
+    public synchronized void onBookSaved(Book book, boolean created) {
+        invalidate(book.getId(), book);
+    }
+
+    @Override
+    public synchronized void onBookDeleted(Long bookId) {
+        invalidate(bookId, null);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.invalidations", invalidations, AtomicLong::get)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.size", this, BookSearchCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, BookSearchCache::hitRatio)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    private void invalidate(Long bookId, Book book) {
+        version++;
+        Iterator<Map.Entry<SearchKey, List<Long>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<SearchKey, List<Long>> entry = iterator.next();
+            if (entry.getValue().contains(bookId)
+                    || (book != null && entry.getKey().matches(book))) {
+                iterator.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    private synchronized double size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private record SearchKey(Set<String> titles,
+                             Set<String> authors,
+                             Set<String> isbns,
+                             BigDecimal minPrice,
+                             BigDecimal maxPrice,
+                             Set<Long> categoryIds,
+                             String page) {
+        private static SearchKey of(BookSearchParametersDto dto, String page) {
+            return new SearchKey(normalize(dto.titles()),
+                    normalize(dto.authors()),
+                    normalize(dto.isbns()),
+                    normalize(dto.minPrice()),
+                    normalize(dto.maxPrice()),
+                    normalize(dto.categoryIds()),
+                    page);
+        }
+
+        private static <T extends Comparable<T>> Set<T> normalize(T[] values) {
+            if (values == null) {
+                return Set.of();
+            }
+            return Arrays.stream(values)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        private static BigDecimal normalize(BigDecimal price) {
+            return price == null ? null : price.stripTrailingZeros();
+        }
+
+        private boolean matches(Book book) {
+            return matches(titles, book.getTitle())
+                    && matches(authors, book.getAuthor())
+                    && matches(isbns, book.getIsbn())
+                    && (minPrice == null || book.getPrice().compareTo(minPrice) >= 0)
+                    && (maxPrice == null || book.getPrice().compareTo(maxPrice) <= 0)
+                    && (categoryIds.isEmpty() || book.getCategories().stream()
+                            .anyMatch(category -> categoryIds.contains(category.getId())));
+        }
+
+        private static boolean matches(Collection<String> filter, String value) {
+            if (filter.isEmpty()) {
+                return true;
+            }
+            String normalized = value.toLowerCase(Locale.ROOT);
+            return filter.stream()
+                    .anyMatch(candidate -> candidate.toLowerCase(Locale.ROOT).equals(normalized));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.spring.book.management.cache;
+
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.repository.book.CategoryBookCount;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryBookCountCache {
+    private final BookRepository bookRepository;
+    private final long ttlMillis;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, LongAdder> reloading;
+    private volatile long expiresAt;
+
+    public CategoryBookCountCache(BookRepository bookRepository,
+                                  @Value("${book.category-count-cache.ttl:5m}") Duration ttl) {
+        this.bookRepository = bookRepository;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public Map<Long, Long> getAll() {
+        if (System.currentTimeMillis() >= expiresAt) {
+            reload();
+        }
+        Map<Long, Long> snapshot = new HashMap<>();
+        counts.forEach((categoryId, count) -> snapshot.put(categoryId, Math.max(0, count.sum())));
+        return snapshot;
+    }
+
+    // An empty side stands for a created or deleted book.
+    public void onBookMoved(Collection<Long> previous, Collection<Long> current) {
+        move(counts, previous, current);
+        // A move during a reload may be missing from its query result, so the map being
+        // loaded gets it too.
+        ConcurrentHashMap<Long, LongAdder> next = reloading;
+        if (next != null) {
+            move(next, previous, current);
+        }
+    }
+
+    private static void move(ConcurrentHashMap<Long, LongAdder> target,
+                             Collection<Long> previous,
+                             Collection<Long> current) {
+        for (Long categoryId : previous) {
+            if (!current.contains(categoryId)) {
+                target.computeIfAbsent(categoryId, id -> new LongAdder()).decrement();
+            }
+        }
+        for (Long categoryId : current) {
+            if (!previous.contains(categoryId)) {
+                target.computeIfAbsent(categoryId, id -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    private void reload() {
+        reloadLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (now < expiresAt) {
+                return;
+            }
+            ConcurrentHashMap<Long, LongAdder> fresh = new ConcurrentHashMap<>();
+            reloading = fresh;
+            for (CategoryBookCount row : bookRepository.countByCategory()) {
+                fresh.computeIfAbsent(row.getCategoryId(), id -> new LongAdder())
+                        .add(row.getBookCount());
+            }
+            counts = fresh;
+            expiresAt = now + ttlMillis;
+        } finally {
+            reloading = null;
+            reloadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.spring.book.management.cache;
+
+import com.spring.book.management.dto.CategoryDto;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The serialized byte arrays are shared between requests; never modify them.
+public final class CategorySnapshot {
+    private final List<CategoryDto> categories;
+    private final Map<Long, Entry> entries;
+    private final byte[] json;
+
+    public CategorySnapshot(List<Entry> entries, byte[] json) {
+        this.categories = entries.stream().map(Entry::category).toList();
+        Map<Long, Entry> byId = new HashMap<>();
+        for (Entry entry : entries) {
+            byId.put(entry.category().id(), entry);
+        }
+        this.entries = Map.copyOf(byId);
+        this.json = json;
+    }
+
+    public List<CategoryDto> categories() {
+        return categories;
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    public Entry get(Long id) {
+        return entries.get(id);
+    }
+
+    public record Entry(CategoryDto category, long version, byte[] json) {
+    }
+}
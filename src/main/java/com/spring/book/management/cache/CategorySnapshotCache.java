@@ -0,0 +1,60 @@
+package com.spring.book.management.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.book.management.dto.CategoryDto;
+import com.spring.book.management.mapper.CategoryMapper;
+import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.category.CategoryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategorySnapshotCache {
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CategorySnapshot snapshot;
+
+    public CategorySnapshotCache(CategoryRepository categoryRepository,
+                                 CategoryMapper categoryMapper,
+                                 ObjectMapper objectMapper) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    public CategorySnapshot get() {
+        CategorySnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    // Serialized, so a refresh started after a commit publishes after any that missed it.
+    public CategorySnapshot refresh() {
+        refreshLock.lock();
+        try {
+            List<CategorySnapshot.Entry> entries = new ArrayList<>();
+            List<CategoryDto> categories = new ArrayList<>();
+            for (Category category : categoryRepository.findAll()) {
+                CategoryDto dto = categoryMapper.toDto(category);
+                entries.add(new CategorySnapshot.Entry(dto, category.getVersion(), toJson(dto)));
+                categories.add(dto);
+            }
+            snapshot = new CategorySnapshot(entries, toJson(categories));
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize categories", e);
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.spring.book.management.controller;
 
+import com.spring.book.management.dto.book.BookBatchDto;
 import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.dto.book.BookFacetsDto;
+import com.spring.book.management.dto.book.BookFuzzySearchResultDto;
+import com.spring.book.management.dto.book.BookImportResultDto;
 import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.dto.book.BookSliceDto;
+import com.spring.book.management.dto.book.BookSuggestionDto;
 import com.spring.book.management.dto.book.CreateBookRequestDto;
+import com.spring.book.management.service.BookExportService;
+import com.spring.book.management.service.BookImportService;
 import com.spring.book.management.service.BookService;
+import com.spring.book.management.service.CoverImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,34 +32,88 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Books", description = "Endpoints for managing books")
 @RestController
 @RequestMapping("/api/books")
 public class BookController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final CoverImageService coverImageService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService,
+                          BookImportService bookImportService,
+                          BookExportService bookExportService,
+                          CoverImageService coverImageService,
+                          NdjsonResponseWriter ndjsonResponseWriter) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.bookExportService = bookExportService;
+        this.coverImageService = coverImageService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @Operation(summary = "Get all books",
-            description = "Returns a list of all books with pagination support.")
+            description = "Returns a list of all books with pagination support. "
+                    + "Pass the X-Next-Cursor header value as 'after' to read the next page "
+                    + "with keyset pagination; 'withTotal' adds an approximate X-Total-Count.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping
-    public List<BookDto> findAll(Pageable pageable) {
-        return bookService.findAll(pageable);
+    public ResponseEntity<List<BookDto>> findAll(
+            Pageable pageable,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        BookSliceDto slice = after == null
+                ? bookService.findAll(pageable, withTotal)
+                : bookService.findAllAfter(after, pageable);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.nextCursor());
+        }
+        if (slice.totalCount() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(slice.totalCount()));
+        }
+        return response.body(slice.content());
+    }
+
+    @Operation(summary = "Get books by IDs",
+            description = "Returns the requested books in request order, reading cached books "
+                    + "first and loading the rest in one query, and lists the ids not found")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/batch")
+    public BookBatchDto findBooksByIds(@RequestParam List<Long> ids) {
+        return bookService.findAllById(ids);
     }
 
     @Operation(summary = "Get book by ID",
             description = "Returns a single book based on the provided ID")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping("/{id}")
-    public BookDto findBookById(@PathVariable Long id) {
-        return bookService.findById(id);
+    public ResponseEntity<BookDto> findBookById(@PathVariable Long id, WebRequest request) {
+        // The version is read before the body, so a concurrent update can only pair an older
+        // ETag with a newer body, which the next conditional request simply refreshes.
+        String eTag = String.valueOf(bookService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(bookService.findById(id));
     }
 
     @Operation(summary = "Create a new book",
@@ -55,6 +124,43 @@ public class BookController {
         return bookService.save(createBookRequestDto);
     }
 
+    @Operation(summary = "Import books from CSV",
+            description = "Streams a CSV file with a header row (title, author, isbn, price, "
+                    + "description, coverImage, categoryIds separated by ';') and reports "
+                    + "rejected rows")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = CSV)
+    public BookImportResultDto importCsv(InputStream body) {
+        return bookImportService.importCsv(body);
+    }
+
+    @Operation(summary = "Import books from NDJSON",
+            description = "Streams one book JSON object per line and reports rejected rows")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public BookImportResultDto importNdjson(InputStream body) {
+        return bookImportService.importNdjson(body);
+    }
+
+    @Operation(summary = "Export books as NDJSON",
+            description = "Streams every book with its category ids, one JSON object per line")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNdjson() {
+        return ndjsonResponseWriter.attachment(bookExportService.streamAll(), "books.ndjson");
+    }
+
+    @Operation(summary = "Export books as CSV",
+            description = "Streams every book with its category ids in the import CSV layout")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", params = "format=csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CSV))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.csv\"")
+                .body(bookExportService::exportCsv);
+    }
+
     @Operation(summary = "Update a book",
             description = "Updates the details of an existing book by ID")
     @PreAuthorize("hasRole('ADMIN')")
@@ -64,6 +170,20 @@ public class BookController {
         return bookService.updateBook(id, createBookRequestDto);
     }
 
+    @Operation(summary = "Upload a book cover",
+            description = "Streams a JPEG, PNG, GIF or WebP image to the cover store and points "
+                    + "the book's coverImage at it")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping(value = "/{id}/cover",
+            consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+                    MediaType.IMAGE_GIF_VALUE, "image/webp"})
+    public BookDto uploadCover(@PathVariable Long id,
+                               @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                               InputStream body) {
+        String fileName = coverImageService.store(body, contentType);
+        return bookService.updateCoverImage(id, CoverImageService.url(fileName));
+    }
+
     @Operation(summary = "Delete a book",
             description = "Deletes a book by its ID")
     @PreAuthorize("hasRole('ADMIN')")
@@ -72,11 +192,71 @@ public class BookController {
         bookService.deleteBook(id);
     }
 
+    @Operation(summary = "Suggest books",
+            description = "Returns the best selling titles and authors starting with the prefix")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/suggest")
+    public List<BookSuggestionDto> suggest(@RequestParam String prefix,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    @Operation(summary = "Full-text search books",
+            description = "Searches title, author and description for the given words "
+                    + "and returns the best matches first")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(value = "/search", params = "q")
+    public List<BookDto> fullTextSearch(@RequestParam String q,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        return bookService.fullTextSearch(q, limit);
+    }
+
+    @Operation(summary = "Typo-tolerant search books",
+            description = "Corrects misspelled words against book titles and authors, then "
+                    + "runs a full-text search; 'didYouMean' holds the corrected query")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(value = "/search", params = {"q", "fuzzy=true"})
+    public BookFuzzySearchResultDto fuzzySearch(@RequestParam String q,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        return bookService.fuzzySearch(q, limit);
+    }
+
+    @Operation(summary = "Count search facets",
+            description = "Returns how many books matching the search parameters fall into "
+                    + "each category, author and price range")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/search/facets")
+    public BookFacetsDto searchFacets(
+            @ModelAttribute BookSearchParametersDto searchParameters) {
+        return bookService.facets(searchParameters);
+    }
+
     @Operation(summary = "Search books",
-            description = "Searches for books using various parameters")
+            description = "Searches for books using various parameters with pagination support. "
+                    + "Pass the X-Next-Cursor header value as 'after' to read the next page.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping("/search")
-    public List<BookDto> search(@ModelAttribute BookSearchParametersDto searchParameters) {
-        return bookService.search(searchParameters);
+    public ResponseEntity<List<BookDto>> search(
+            @ModelAttribute BookSearchParametersDto searchParameters,
+            Pageable pageable,
+            @RequestParam(required = false) String after) {
+        BookSliceDto slice = bookService.search(searchParameters, after, pageable);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.nextCursor());
+        }
+        return response.body(slice.content());
+    }
+
+    @Operation(summary = "Stream search results as NDJSON",
+            description = "Streams every book matching the search parameters, one JSON object "
+                    + "per line, when the client accepts application/x-ndjson")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(value = "/search", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> searchNdjson(
+            @ModelAttribute BookSearchParametersDto searchParameters,
+            Sort sort) {
+        return ndjsonResponseWriter.ok(bookService.streamSearch(searchParameters, sort));
     }
 }
@@ -2,10 +2,16 @@ package com.spring.book.management.controller;
 
 import com.spring.book.management.dto.CategoryDto;
 import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.dto.book.CategoryBookSliceDto;
 import com.spring.book.management.service.CategoryService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,16 +20,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Categories", description = "Endpoints for managing categories")
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
     private final CategoryService categoryService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService,
+                              NdjsonResponseWriter ndjsonResponseWriter) {
         this.categoryService = categoryService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @PostMapping
@@ -34,14 +46,30 @@ public class CategoryController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<CategoryDto> findAll() {
-        return categoryService.findAll();
+    public ResponseEntity<byte[]> findAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(categoryService.findAllAsJson());
+    }
+
+    @GetMapping(params = "withBookCounts=true")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public List<CategoryDto> findAllWithBookCounts() {
+        return categoryService.findAll(true);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public CategoryDto findById(@PathVariable Long id) {
-        return categoryService.findById(id);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        String eTag = String.valueOf(categoryService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(categoryService.findByIdAsJson(id));
     }
 
     @PutMapping("/{id}")
@@ -58,7 +86,23 @@ public class CategoryController {
 
     @GetMapping("/{id}/books")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategory(@PathVariable Long id) {
-        return categoryService.getBooksByCategoryId(id);
+    public ResponseEntity<List<BookDtoWithoutCategoryIds>> getBooksByCategory(
+            @PathVariable Long id,
+            Pageable pageable,
+            @RequestParam(required = false) String after) {
+        CategoryBookSliceDto slice = categoryService.getBooksByCategoryId(id, after, pageable);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.nextCursor() != null) {
+            response.header(BookController.NEXT_CURSOR_HEADER, slice.nextCursor());
+        }
+        return response.body(slice.content());
+    }
+
+    @GetMapping(value = "/{id}/books", produces = BookController.NDJSON)
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamBooksByCategory(@PathVariable Long id,
+                                                                       Sort sort) {
+        return ndjsonResponseWriter.ok(categoryService.streamBooksByCategoryId(id, sort));
     }
 }
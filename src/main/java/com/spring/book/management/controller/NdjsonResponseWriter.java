@@ -0,0 +1,90 @@
+package com.spring.book.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Consumes the stream inside a read-only transaction so its scrolling query stays open.
+@Component
+public class NdjsonResponseWriter {
+    private static final MediaType NDJSON = MediaType.parseMediaType(BookController.NDJSON);
+    // The first line is flushed at once; after that flushing per line would cost a packet each.
+    private static final int FLUSH_INTERVAL = 100;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ResponseEntity<StreamingResponseBody> ok(Stream<?> elements) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(output -> write(elements, output));
+    }
+
+    public ResponseEntity<StreamingResponseBody> attachment(Stream<?> elements, String filename) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + filename + "\"")
+                .body(output -> write(elements, output));
+    }
+
+    private void write(Stream<?> elements, OutputStream output) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (elements; SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(output)) {
+                LineWriter lines = new LineWriter(writer);
+                // forEach pushes one element at a time, whereas an iterator over a flatMap
+                // buffers the whole inner stream.
+                elements.forEach(lines);
+                writer.flush();
+                if (lines.written > 0) {
+                    output.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static final class LineWriter implements Consumer<Object> {
+        private final SequenceWriter writer;
+        private long written;
+
+        private LineWriter(SequenceWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(Object element) {
+            try {
+                writer.write(element);
+                if (written++ % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
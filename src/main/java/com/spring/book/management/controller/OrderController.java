@@ -7,6 +7,7 @@ import com.spring.book.management.service.OrderService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Orders", description = "Endpoints for managing orders")
 @RestController
@@ -22,9 +24,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           NdjsonResponseWriter ndjsonResponseWriter) {
         this.orderService = orderService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @GetMapping
@@ -33,6 +38,12 @@ public class OrderController {
         return orderService.findAll();
     }
 
+    @GetMapping(produces = BookController.NDJSON)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ndjsonResponseWriter.ok(orderService.streamAll());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public OrderResponseDto getOrderById(@PathVariable Long id) {
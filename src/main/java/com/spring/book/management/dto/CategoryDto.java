@@ -1,9 +1,18 @@
 package com.spring.book.management.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 
 public record CategoryDto(
         Long id,
         @NotBlank(message = "Name must not be blank") String name,
-        String description) {
+        String description,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long bookCount) {
+    public CategoryDto(Long id, String name, String description) {
+        this(id, name, description, null);
+    }
+
+    public CategoryDto withBookCount(long bookCount) {
+        return new CategoryDto(id, name, description, bookCount);
+    }
 }
@@ -12,6 +12,8 @@ public class BookDto {
     private BigDecimal price;
     private String description;
     private String coverImage;
+    private String coverThumbnailSmall;
+    private String coverThumbnailMedium;
     private Set<Long> categoryIds = new HashSet<>();
 
     public BookDto() {
@@ -73,6 +75,22 @@ public class BookDto {
         this.coverImage = coverImage;
     }
 
+    public String getCoverThumbnailSmall() {
+        return coverThumbnailSmall;
+    }
+
+    public void setCoverThumbnailSmall(String coverThumbnailSmall) {
+        this.coverThumbnailSmall = coverThumbnailSmall;
+    }
+
+    public String getCoverThumbnailMedium() {
+        return coverThumbnailMedium;
+    }
+
+    public void setCoverThumbnailMedium(String coverThumbnailMedium) {
+        this.coverThumbnailMedium = coverThumbnailMedium;
+    }
+
     public Set<Long> getCategoryIds() {
         return categoryIds;
     }
@@ -9,5 +9,7 @@ public record BookDtoWithoutCategoryIds(
         String isbn,
         BigDecimal price,
         String description,
-        String coverImage) {
+        String coverImage,
+        String coverThumbnailSmall,
+        String coverThumbnailMedium) {
 }
@@ -0,0 +1,6 @@
+package com.spring.book.management.dto.book;
+
+public record BookFacetCountDto(
+        String value,
+        int count) {
+}
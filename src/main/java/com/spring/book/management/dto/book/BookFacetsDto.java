@@ -0,0 +1,10 @@
+package com.spring.book.management.dto.book;
+
+import java.util.List;
+
+public record BookFacetsDto(
+        int total,
+        List<BookFacetCountDto> categories,
+        List<BookFacetCountDto> authors,
+        List<BookFacetCountDto> prices) {
+}
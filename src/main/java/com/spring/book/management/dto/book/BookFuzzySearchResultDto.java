@@ -0,0 +1,8 @@
+package com.spring.book.management.dto.book;
+
+import java.util.List;
+
+public record BookFuzzySearchResultDto(
+        List<BookDto> books,
+        String didYouMean) {
+}
@@ -0,0 +1,7 @@
+package com.spring.book.management.dto.book;
+
+public record BookImportErrorDto(
+        long line,
+        String isbn,
+        String message) {
+}
@@ -0,0 +1,9 @@
+package com.spring.book.management.dto.book;
+
+import java.util.List;
+
+public record BookImportResultDto(
+        long imported,
+        long rejected,
+        List<BookImportErrorDto> errors) {
+}
@@ -1,4 +1,11 @@
 package com.spring.book.management.dto.book;
 
-public record BookSearchParametersDto(String[] titles, String[] authors, String[] isbns) {
+import java.math.BigDecimal;
+
+public record BookSearchParametersDto(String[] titles,
+                                      String[] authors,
+                                      String[] isbns,
+                                      BigDecimal minPrice,
+                                      BigDecimal maxPrice,
+                                      Long[] categoryIds) {
 }
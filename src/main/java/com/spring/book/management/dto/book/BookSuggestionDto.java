@@ -0,0 +1,7 @@
+package com.spring.book.management.dto.book;
+
+public record BookSuggestionDto(
+        String text,
+        String type,
+        Long bookId) {
+}
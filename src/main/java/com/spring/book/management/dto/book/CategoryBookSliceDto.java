@@ -0,0 +1,8 @@
+package com.spring.book.management.dto.book;
+
+import java.util.List;
+
+public record CategoryBookSliceDto(
+        List<BookDtoWithoutCategoryIds> content,
+        String nextCursor) {
+}
@@ -0,0 +1,11 @@
+package com.spring.book.management.exception;
+
+public class BookImportException extends RuntimeException {
+    public BookImportException(String message) {
+        super(message);
+    }
+
+    public BookImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
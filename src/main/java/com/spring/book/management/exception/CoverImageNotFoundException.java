@@ -0,0 +1,7 @@
+package com.spring.book.management.exception;
+
+public class CoverImageNotFoundException extends RuntimeException {
+    public CoverImageNotFoundException(String fileName) {
+        super("Cover image " + fileName + " not found");
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
@@ -52,6 +53,7 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
             CategoryNotFoundException.class,
             CartItemNotFoundException.class,
             OrderItemNotFoundException.class,
+            CoverImageNotFoundException.class,
             ShoppingCartNotFoundException.class})
     public ResponseEntity<Object> handleNotFoundExceptions(RuntimeException ex) {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
@@ -67,6 +69,26 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BookImportException.class)
+    public ResponseEntity<Object> handleBookImport(BookImportException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCoverImageException.class)
+    public ResponseEntity<Object> handleInvalidCoverImage(InvalidCoverImageException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<Object> handleInvalidBatchRequest(InvalidBatchRequestException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursor(InvalidCursorException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
     private String getErrorMessage(ObjectError objectError) {
         if (objectError instanceof FieldError fieldError) {
             String field = fieldError.getField();
@@ -81,6 +103,9 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
         body.put("timestamp", LocalDateTime.now());
         body.put("statusCode", status.value());
         body.put("errors", List.of(ex.getMessage()));
-        return new ResponseEntity<>(body, status);
+        // Errors stay JSON even when the client only accepts NDJSON or CSV.
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(body, headers, status);
     }
 }
@@ -0,0 +1,7 @@
+package com.spring.book.management.exception;
+
+public class InvalidCoverImageException extends RuntimeException {
+    public InvalidCoverImageException(String message) {
+        super(message);
+    }
+}
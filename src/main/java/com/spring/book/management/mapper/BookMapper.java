@@ -18,11 +18,17 @@ public interface BookMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "coverThumbnailSmall", ignore = true)
+    @Mapping(target = "coverThumbnailMedium", ignore = true)
     Book toModel(CreateBookRequestDto createBookRequestDto);
 
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "coverThumbnailSmall", ignore = true)
+    @Mapping(target = "coverThumbnailMedium", ignore = true)
     void toEntity(CreateBookRequestDto dto, @MappingTarget Book book);
 
     @AfterMapping
@@ -4,10 +4,13 @@ import com.spring.book.management.config.MapperConfig;
 import com.spring.book.management.dto.CategoryDto;
 import com.spring.book.management.model.Category;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class)
 public interface CategoryMapper {
+    @Mapping(target = "bookCount", ignore = true)
     CategoryDto toDto(Category category);
 
+    @Mapping(target = "version", ignore = true)
     Category toEntity(CategoryDto dto);
 }
@@ -9,14 +9,17 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
-@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE books SET is_deleted = true WHERE id = ? AND version = ?")
 @Where(clause = "is_deleted = false")
 @Table(name = "books")
 public class Book {
@@ -40,10 +43,20 @@ public class Book {
 
     private String coverImage;
 
+    private String coverThumbnailSmall;
+
+    private String coverThumbnailMedium;
+
     @Column(nullable = false)
     private boolean isDeleted = false;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
@@ -107,6 +120,22 @@ public class Book {
         this.coverImage = coverImage;
     }
 
+    public String getCoverThumbnailSmall() {
+        return coverThumbnailSmall;
+    }
+
+    public void setCoverThumbnailSmall(String coverThumbnailSmall) {
+        this.coverThumbnailSmall = coverThumbnailSmall;
+    }
+
+    public String getCoverThumbnailMedium() {
+        return coverThumbnailMedium;
+    }
+
+    public void setCoverThumbnailMedium(String coverThumbnailMedium) {
+        this.coverThumbnailMedium = coverThumbnailMedium;
+    }
+
     public Set<Category> getCategories() {
         return categories;
     }
@@ -114,4 +143,12 @@ public class Book {
     public void setCategories(Set<Category> categories) {
         this.categories = categories;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,103 @@
+package com.spring.book.management.repository.book;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.model.Category;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Hibernate cannot batch inserts for IDENTITY ids, hence plain JDBC multi-row INSERTs.
+@Repository
+public class BookBatchRepository {
+    private static final String INSERT_BOOKS = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image, is_deleted) VALUES ";
+    private static final String BOOK_ROW = "(?, ?, ?, ?, ?, ?, false)";
+    private static final String INSERT_BOOK_CATEGORIES =
+            "INSERT INTO books_categories (book_id, category_id) VALUES ";
+    private static final String BOOK_CATEGORY_ROW = "(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<Long> findActiveCategoryIds() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE is_deleted = false", Long.class));
+    }
+
+    public long countAll() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+    }
+
+    public void forEachIsbn(Consumer<String> consumer) {
+        jdbcTemplate.query("SELECT isbn FROM books", rs -> {
+            consumer.accept(rs.getString("isbn"));
+        });
+    }
+
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT isbn FROM books WHERE isbn IN (" + placeholders(isbns.size(), "?") + ")",
+                String.class, isbns.toArray()));
+    }
+
+    public void insertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        List<Object> bookArgs = new ArrayList<>(books.size() * 6);
+        for (Book book : books) {
+            bookArgs.add(book.getTitle());
+            bookArgs.add(book.getAuthor());
+            bookArgs.add(book.getIsbn());
+            bookArgs.add(book.getPrice());
+            bookArgs.add(book.getDescription());
+            bookArgs.add(book.getCoverImage());
+        }
+        jdbcTemplate.update(INSERT_BOOKS + placeholders(books.size(), BOOK_ROW),
+                bookArgs.toArray());
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, isbn FROM books WHERE isbn IN ("
+                        + placeholders(books.size(), "?") + ")",
+                rs -> {
+                    ids.put(rs.getString("isbn"), rs.getLong("id"));
+                },
+                books.stream().map(Book::getIsbn).toArray());
+
+        List<Object> categoryArgs = new ArrayList<>();
+        for (Book book : books) {
+            book.setId(ids.get(book.getIsbn()));
+            for (Category category : book.getCategories()) {
+                categoryArgs.add(book.getId());
+                categoryArgs.add(category.getId());
+            }
+        }
+        if (!categoryArgs.isEmpty()) {
+            jdbcTemplate.update(INSERT_BOOK_CATEGORIES
+                            + placeholders(categoryArgs.size() / 2, BOOK_CATEGORY_ROW),
+                    categoryArgs.toArray());
+        }
+    }
+
+    private static String placeholders(int count, String placeholder) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int i = 0; i < count; i++) {
+            joiner.add(placeholder);
+        }
+        return joiner.toString();
+    }
+}
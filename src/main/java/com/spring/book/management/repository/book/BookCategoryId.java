@@ -0,0 +1,7 @@
+package com.spring.book.management.repository.book;
+
+public interface BookCategoryId {
+    Long getBookId();
+
+    Long getCategoryId();
+}
@@ -0,0 +1,178 @@
+package com.spring.book.management.repository.book;
+
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.exception.InvalidCursorException;
+import com.spring.book.management.model.Book;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookKeysetCursor {
+    public boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> Key.of(order.getProperty()) != null);
+    }
+
+    public Sort normalize(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (Key.of(order.getProperty()) == null) {
+                throw new InvalidCursorException(
+                        "Cursor pagination does not support sorting by " + order.getProperty());
+            }
+        }
+        Sort tieBreaker = Sort.by(Key.ID.property);
+        Sort normalized = sort.isSorted() ? sort : tieBreaker;
+        return normalized.getOrderFor(Key.ID.property) == null
+                ? normalized.and(tieBreaker)
+                : normalized;
+    }
+
+    public Pageable normalize(Pageable pageable) {
+        if (!supports(pageable.getSort())) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                normalize(pageable.getSort()));
+    }
+
+    public String encode(Book book, Sort sort) {
+        return encode(sort, key -> key.extractor.apply(book));
+    }
+
+    public String encode(BookDtoWithoutCategoryIds row, Sort sort) {
+        return encode(sort, key -> key.rowExtractor.apply(row));
+    }
+
+    private String encode(Sort sort, Function<Key, Comparable<?>> values) {
+        StringJoiner joiner = new StringJoiner("&");
+        for (Sort.Order order : normalize(sort)) {
+            Key key = Key.of(order.getProperty());
+            joiner.add(key.property + "=" + URLEncoder.encode(
+                    String.valueOf(values.apply(key)), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Specification<Book> after(String cursor, Sort sort) {
+        List<Sort.Order> orders = normalize(sort).toList();
+        List<Comparable> values = decode(cursor, orders);
+
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalPrefix = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                Sort.Order order = orders.get(i);
+                Expression<Comparable> path = root.get(order.getProperty());
+                Comparable value = values.get(i);
+                Predicate beyond = order.isAscending()
+                        ? cb.greaterThan(path, value)
+                        : cb.lessThan(path, value);
+
+                List<Predicate> step = new ArrayList<>(equalPrefix);
+                step.add(beyond);
+                alternatives.add(cb.and(step.toArray(new Predicate[0])));
+                equalPrefix.add(cb.equal(path, value));
+            }
+            return cb.or(alternatives.toArray(new Predicate[0]));
+        };
+    }
+
+    // Depends only on the sort, so every page of one sort shares a query plan.
+    @SuppressWarnings("rawtypes")
+    public BookSearchQuery seek(String cursor, Sort sort) {
+        List<Sort.Order> orders = normalize(sort).toList();
+        List<Comparable> values = decode(cursor, orders);
+
+        StringJoiner alternatives = new StringJoiner(" OR ");
+        StringJoiner equalPrefix = new StringJoiner(" AND ");
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            String path = "b." + order.getProperty();
+            String parameter = ":after" + i;
+            String beyond = path + (order.isAscending() ? " > " : " < ") + parameter;
+            alternatives.add("(" + (i == 0 ? "" : equalPrefix + " AND ") + beyond + ")");
+            equalPrefix.add(path + " = " + parameter);
+            parameters.put("after" + i, values.get(i));
+        }
+        return new BookSearchQuery(alternatives.toString(), parameters);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<Comparable> decode(String cursor, List<Sort.Order> orders) {
+        String[] pairs;
+        try {
+            pairs = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("&");
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (pairs.length != orders.size()) {
+            throw new InvalidCursorException("Cursor does not match the requested sort");
+        }
+
+        List<Comparable> values = new ArrayList<>(pairs.length);
+        for (int i = 0; i < pairs.length; i++) {
+            String[] pair = pairs[i].split("=", 2);
+            Key key = Key.of(pair[0]);
+            if (pair.length != 2 || key == null
+                    || !key.property.equals(orders.get(i).getProperty())) {
+                throw new InvalidCursorException("Cursor does not match the requested sort");
+            }
+            try {
+                values.add(key.parser.apply(URLDecoder.decode(pair[1], StandardCharsets.UTF_8)));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+        return values;
+    }
+
+    private enum Key {
+        ID("id", Book::getId, BookDtoWithoutCategoryIds::id, Long::valueOf),
+        TITLE("title", Book::getTitle, BookDtoWithoutCategoryIds::title, value -> value),
+        AUTHOR("author", Book::getAuthor, BookDtoWithoutCategoryIds::author, value -> value),
+        ISBN("isbn", Book::getIsbn, BookDtoWithoutCategoryIds::isbn, value -> value),
+        PRICE("price", Book::getPrice, BookDtoWithoutCategoryIds::price, BigDecimal::new);
+
+        private final String property;
+        private final Function<Book, Comparable<?>> extractor;
+        private final Function<BookDtoWithoutCategoryIds, Comparable<?>> rowExtractor;
+        private final Function<String, Comparable<?>> parser;
+
+        Key(String property,
+            Function<Book, Comparable<?>> extractor,
+            Function<BookDtoWithoutCategoryIds, Comparable<?>> rowExtractor,
+            Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.rowExtractor = rowExtractor;
+            this.parser = parser;
+        }
+
+        private static Key of(String property) {
+            return Arrays.stream(values())
+                    .filter(key -> key.property.equals(property))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.book.management.repository.book;
+
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.model.Book;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookProjectionRepository {
+    List<BookDtoWithoutCategoryIds> findRows(Specification<Book> spec,
+                                             Sort sort,
+                                             long offset,
+                                             int limit);
+
+    Stream<BookDtoWithoutCategoryIds> streamRows(Specification<Book> spec, Sort sort);
+
+    List<BookDtoWithoutCategoryIds> searchRows(BookSearchQuery query,
+                                               Sort sort,
+                                               long offset,
+                                               int limit);
+
+    Stream<BookDtoWithoutCategoryIds> streamSearchRows(BookSearchQuery query, Sort sort);
+}
@@ -0,0 +1,122 @@
+package com.spring.book.management.repository.book;
+
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+// Constructor expressions, so list pages never create managed entities.
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final String SELECT_ROWS = "SELECT new "
+            + BookDtoWithoutCategoryIds.class.getName()
+            + "(b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage,"
+            + " b.coverThumbnailSmall, b.coverThumbnailMedium) FROM Book b";
+    private static final Pattern PROPERTY = Pattern.compile("[A-Za-z]+");
+
+    private final EntityManager entityManager;
+
+    public BookProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BookDtoWithoutCategoryIds> findRows(Specification<Book> spec,
+                                                    Sort sort,
+                                                    long offset,
+                                                    int limit) {
+        return createRowQuery(spec, sort)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookDtoWithoutCategoryIds> streamRows(Specification<Book> spec, Sort sort) {
+        return createRowQuery(spec, sort)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<BookDtoWithoutCategoryIds> searchRows(BookSearchQuery query,
+                                                      Sort sort,
+                                                      long offset,
+                                                      int limit) {
+        return createRowQuery(query, sort)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookDtoWithoutCategoryIds> streamSearchRows(BookSearchQuery query, Sort sort) {
+        return createRowQuery(query, sort)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<BookDtoWithoutCategoryIds> createRowQuery(BookSearchQuery search,
+                                                                 Sort sort) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROWS);
+        if (!search.condition().isEmpty()) {
+            jpql.append(" WHERE ").append(search.condition());
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        for (Sort.Order order : sort) {
+            if (!PROPERTY.matcher(order.getProperty()).matches()) {
+                throw new IllegalArgumentException("Invalid sort property "
+                        + order.getProperty());
+            }
+            orderBy.add("b." + order.getProperty() + " " + order.getDirection());
+        }
+        jpql.append(orderBy);
+
+        TypedQuery<BookDtoWithoutCategoryIds> query =
+                entityManager.createQuery(jpql.toString(), BookDtoWithoutCategoryIds.class);
+        search.parameters().forEach(query::setParameter);
+        return query;
+    }
+
+    private TypedQuery<BookDtoWithoutCategoryIds> createRowQuery(Specification<Book> spec,
+                                                                 Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookDtoWithoutCategoryIds> query =
+                cb.createQuery(BookDtoWithoutCategoryIds.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.construct(BookDtoWithoutCategoryIds.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("author"),
+                root.get("isbn"),
+                root.get("price"),
+                root.get("description"),
+                root.get("coverImage"),
+                root.get("coverThumbnailSmall"),
+                root.get("coverThumbnailMedium")));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+}
@@ -1,14 +1,46 @@
 package com.spring.book.management.repository.book;
 
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
 import com.spring.book.management.model.Book;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
-    List<Book> findByCategories_Id(Long categoryId);
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookProjectionRepository {
+
+    List<Book> findByIdGreaterThan(Long id, Pageable pageable);
 
     boolean existsByIsbn(String isbn);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.spring.book.management.dto.book.BookDtoWithoutCategoryIds("
+            + "b.id, b.title, b.author, b.isbn, b.price, b.description, b.coverImage, "
+            + "b.coverThumbnailSmall, b.coverThumbnailMedium) "
+            + "FROM Book b ORDER BY b.id")
+    Stream<BookDtoWithoutCategoryIds> streamAll();
+
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT b.id AS bookId, c.id AS categoryId "
+            + "FROM Book b JOIN b.categories c WHERE b.id IN :bookIds")
+    List<BookCategoryId> findCategoryIds(Collection<Long> bookIds);
+
+    @Query("SELECT c.id AS categoryId, COUNT(b) AS bookCount "
+            + "FROM Book b JOIN b.categories c GROUP BY c.id")
+    List<CategoryBookCount> countByCategory();
 }
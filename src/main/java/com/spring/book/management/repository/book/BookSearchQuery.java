@@ -0,0 +1,21 @@
+package com.spring.book.management.repository.book;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Equal filter shapes give equal strings, which Hibernate's query plan cache reuses.
+public record BookSearchQuery(String condition, Map<String, Object> parameters) {
+    public static final BookSearchQuery ALL = new BookSearchQuery("", Map.of());
+
+    public BookSearchQuery and(BookSearchQuery other) {
+        if (condition.isEmpty()) {
+            return other;
+        }
+        if (other.condition.isEmpty()) {
+            return this;
+        }
+        Map<String, Object> combined = new HashMap<>(parameters);
+        combined.putAll(other.parameters);
+        return new BookSearchQuery("(" + condition + ") AND (" + other.condition + ")", combined);
+    }
+}
@@ -5,15 +5,18 @@ import com.spring.book.management.model.Book;
 import com.spring.book.management.repository.SpecificationProviderManager;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BookSpecificationBuilder implements BookSearchSpecificationBuilder<Book> {
-
     private final SpecificationProviderManager<Book> bookSpecificationProviderManager;
+    private final Map<String, String> conditions = new ConcurrentHashMap<>();
 
     public BookSpecificationBuilder(
             SpecificationProviderManager<Book> bookSpecificationProviderManager) {
@@ -22,39 +25,63 @@ public class BookSpecificationBuilder implements BookSearchSpecificationBuilder<
 
     @Override
     public Specification<Book> build(BookSearchParametersDto searchParameters) {
-        Map<String, List<String>> searchParams = extractParams(searchParameters);
-
         Specification<Book> spec = Specification.where(null);
-
-        for (Map.Entry<String, List<String>> entry : searchParams.entrySet()) {
-            String key = entry.getKey();
-            List<String> values = entry.getValue();
-
-            if (values != null && !values.isEmpty()) {
-                BookSpecificationProvider<Book> provider =
-                        bookSpecificationProviderManager.getSpecificationProvider(key);
-                Specification<Book> newSpec = provider.getSpecification(Map.of(key, values));
-                if (newSpec != null) {
-                    spec = spec.and(newSpec);
-                }
+        for (Map.Entry<String, List<String>> entry : extractParams(searchParameters).entrySet()) {
+            BookSpecificationProvider<Book> provider =
+                    bookSpecificationProviderManager.getSpecificationProvider(entry.getKey());
+            Specification<Book> newSpec =
+                    provider.getSpecification(Map.of(entry.getKey(), entry.getValue()));
+            if (newSpec != null) {
+                spec = spec.and(newSpec);
             }
         }
-
         return spec;
     }
 
+    public BookSearchQuery buildQuery(BookSearchParametersDto searchParameters) {
+        Map<String, List<String>> searchParams = extractParams(searchParameters);
+        if (searchParams.isEmpty()) {
+            return BookSearchQuery.ALL;
+        }
+        // At most one entry per subset of the six filters, so the map stays small.
+        String condition = conditions.computeIfAbsent(
+                String.join(",", searchParams.keySet()),
+                shape -> searchParams.keySet().stream()
+                        .map(key -> bookSpecificationProviderManager
+                                .getSpecificationProvider(key)
+                                .getCondition())
+                        .collect(Collectors.joining(" AND ")));
+
+        Map<String, Object> parameters = new HashMap<>();
+        searchParams.forEach((key, values) -> parameters.put(key,
+                bookSpecificationProviderManager.getSpecificationProvider(key)
+                        .getParameter(values)));
+        return new BookSearchQuery(condition, parameters);
+    }
+
     private Map<String, List<String>> extractParams(BookSearchParametersDto dto) {
-        Map<String, List<String>> paramMap = new HashMap<>();
+        Map<String, List<String>> paramMap = new LinkedHashMap<>();
 
-        if (dto.titles() != null) {
+        if (dto.titles() != null && dto.titles().length > 0) {
             paramMap.put("title", Arrays.asList(dto.titles()));
         }
-        if (dto.authors() != null) {
+        if (dto.authors() != null && dto.authors().length > 0) {
             paramMap.put("author", Arrays.asList(dto.authors()));
         }
-        if (dto.isbns() != null) {
+        if (dto.isbns() != null && dto.isbns().length > 0) {
             paramMap.put("isbn", Arrays.asList(dto.isbns()));
         }
+        if (dto.minPrice() != null) {
+            paramMap.put("minPrice", List.of(dto.minPrice().toPlainString()));
+        }
+        if (dto.maxPrice() != null) {
+            paramMap.put("maxPrice", List.of(dto.maxPrice().toPlainString()));
+        }
+        if (dto.categoryIds() != null && dto.categoryIds().length > 0) {
+            paramMap.put("categoryIds", Arrays.stream(dto.categoryIds())
+                    .map(String::valueOf)
+                    .toList());
+        }
 
         return paramMap;
     }
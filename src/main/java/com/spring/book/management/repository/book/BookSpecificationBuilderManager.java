@@ -4,23 +4,29 @@ import com.spring.book.management.exception.SpecificationNotFoundException;
 import com.spring.book.management.model.Book;
 import com.spring.book.management.repository.SpecificationProviderManager;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BookSpecificationBuilderManager implements SpecificationProviderManager<Book> {
 
-    private final List<BookSpecificationProvider<Book>> specificationProviders;
+    private final Map<String, BookSpecificationProvider<Book>> specificationProviders;
 
     public BookSpecificationBuilderManager(
             List<BookSpecificationProvider<Book>> specificationProviders) {
-        this.specificationProviders = specificationProviders;
+        this.specificationProviders = specificationProviders.stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        BookSpecificationProvider::getKey, Function.identity()));
     }
 
     @Override
     public BookSpecificationProvider<Book> getSpecificationProvider(String key) {
-        return specificationProviders.stream()
-                .filter(p -> p.getKey().equals(key))
-                .findFirst()
-                .orElseThrow(() -> new SpecificationNotFoundException(key));
+        BookSpecificationProvider<Book> provider = specificationProviders.get(key);
+        if (provider == null) {
+            throw new SpecificationNotFoundException(key);
+        }
+        return provider;
     }
 }
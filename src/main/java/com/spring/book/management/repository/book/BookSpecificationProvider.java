@@ -8,4 +8,9 @@ public interface BookSpecificationProvider<T> {
     String getKey();
 
     Specification<T> getSpecification(Map<String, List<String>> params);
+
+    // JPQL on the alias b, with the value bound as :<key>.
+    String getCondition();
+
+    Object getParameter(List<String> values);
 }
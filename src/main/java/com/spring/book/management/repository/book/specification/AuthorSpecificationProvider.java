@@ -24,4 +24,14 @@ public class AuthorSpecificationProvider implements BookSpecificationProvider<Bo
 
         return (root, query, cb) -> root.get("author").in(authors);
     }
+
+    @Override
+    public String getCondition() {
+        return "b.author IN :author";
+    }
+
+    @Override
+    public Object getParameter(List<String> values) {
+        return values;
+    }
 }
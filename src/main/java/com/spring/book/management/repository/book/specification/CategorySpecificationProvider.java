@@ -0,0 +1,47 @@
+package com.spring.book.management.repository.book.specification;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookSpecificationProvider;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategorySpecificationProvider implements BookSpecificationProvider<Book> {
+    @Override
+    public String getKey() {
+        return "categoryIds";
+    }
+
+    @Override
+    public Specification<Book> getSpecification(Map<String, List<String>> params) {
+        List<String> categoryIds = params.get(getKey());
+
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = categoryIds.stream().map(Long::valueOf).toList();
+        return (root, query, cb) -> {
+            Subquery<Long> bookIds = query.subquery(Long.class);
+            Root<Book> book = bookIds.from(Book.class);
+            bookIds.select(book.get("id"))
+                    .where(book.join("categories").get("id").in(ids));
+            return root.get("id").in(bookIds);
+        };
+    }
+
+    @Override
+    public String getCondition() {
+        return "b.id IN (SELECT cb.id FROM Book cb JOIN cb.categories c "
+                + "WHERE c.id IN :categoryIds)";
+    }
+
+    @Override
+    public Object getParameter(List<String> values) {
+        return values.stream().map(Long::valueOf).toList();
+    }
+}
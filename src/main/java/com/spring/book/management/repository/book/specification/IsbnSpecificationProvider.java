@@ -24,4 +24,14 @@ public class IsbnSpecificationProvider implements BookSpecificationProvider<Book
 
         return (root, query, cb) -> root.get("isbn").in(isbns);
     }
+
+    @Override
+    public String getCondition() {
+        return "b.isbn IN :isbn";
+    }
+
+    @Override
+    public Object getParameter(List<String> values) {
+        return values;
+    }
 }
@@ -0,0 +1,39 @@
+package com.spring.book.management.repository.book.specification;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookSpecificationProvider;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MinPriceSpecificationProvider implements BookSpecificationProvider<Book> {
+    @Override
+    public String getKey() {
+        return "minPrice";
+    }
+
+    @Override
+    public Specification<Book> getSpecification(Map<String, List<String>> params) {
+        List<String> prices = params.get(getKey());
+
+        if (prices == null || prices.isEmpty()) {
+            return null;
+        }
+
+        BigDecimal minPrice = new BigDecimal(prices.get(0));
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    @Override
+    public String getCondition() {
+        return "b.price >= :minPrice";
+    }
+
+    @Override
+    public Object getParameter(List<String> values) {
+        return new BigDecimal(values.get(0));
+    }
+}
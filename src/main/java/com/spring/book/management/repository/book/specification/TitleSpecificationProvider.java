@@ -24,4 +24,14 @@ public class TitleSpecificationProvider implements BookSpecificationProvider<Boo
 
         return (root, query, cb) -> root.get("title").in(titles);
     }
+
+    @Override
+    public String getCondition() {
+        return "b.title IN :title";
+    }
+
+    @Override
+    public Object getParameter(List<String> values) {
+        return values;
+    }
 }
@@ -0,0 +1,7 @@
+package com.spring.book.management.repository.order;
+
+public interface BookSales {
+    Long getBookId();
+
+    Long getQuantity();
+}
@@ -0,0 +1,11 @@
+package com.spring.book.management.repository.order;
+
+public interface OrderItemRow {
+    Long getOrderId();
+
+    Long getId();
+
+    Long getBookId();
+
+    int getQuantity();
+}
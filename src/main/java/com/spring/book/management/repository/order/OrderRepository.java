@@ -2,9 +2,32 @@ package com.spring.book.management.repository.order;
 
 import com.spring.book.management.model.Order;
 import com.spring.book.management.model.User;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findAllByUser(User user);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.spring.book.management.repository.order.OrderRow("
+            + "o.id, o.user.id, o.orderDate, o.total, o.status) "
+            + "FROM Order o WHERE o.user.id = :userId ORDER BY o.id")
+    Stream<OrderRow> streamRowsByUserId(Long userId);
+
+    @Query("SELECT oi.order.id AS orderId, oi.id AS id, oi.book.id AS bookId, "
+            + "oi.quantity AS quantity FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    List<OrderItemRow> findItemRows(Collection<Long> orderIds);
+
+    @Query("SELECT oi.book.id AS bookId, SUM(oi.quantity) AS quantity "
+            + "FROM OrderItem oi GROUP BY oi.book.id")
+    List<BookSales> findBookSales();
 }
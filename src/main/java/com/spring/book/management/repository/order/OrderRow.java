@@ -0,0 +1,13 @@
+package com.spring.book.management.repository.order;
+
+import com.spring.book.management.model.Status;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderRow(
+        Long id,
+        Long userId,
+        LocalDateTime orderDate,
+        BigDecimal total,
+        Status status) {
+}
@@ -0,0 +1,319 @@
+package com.spring.book.management.search;
+
+import com.spring.book.management.dto.book.BookFacetCountDto;
+import com.spring.book.management.dto.book.BookFacetsDto;
+import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.book.BookCategoryId;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.service.BookChangeListener;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+// Dictionary-encoded columns; dead slots are compacted once they are half of the arrays.
+@Component
+public class BookFacetIndex implements BookChangeListener {
+    public static final int MAX_AUTHOR_FACETS = 20;
+    private static final long[] PRICE_BOUNDS_IN_CENTS = {1_000, 2_500, 5_000, 10_000};
+    private static final String[] PRICE_LABELS = {"0-10", "10-25", "25-50", "50-100", "100+"};
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int[] NO_CATEGORIES = new int[0];
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Dictionary titles = new Dictionary();
+    private final Dictionary authors = new Dictionary();
+    private final Dictionary isbns = new Dictionary();
+    private final Map<Long, Integer> categoryOrdinals = new HashMap<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private int[] titleColumn = new int[1024];
+    private int[] authorColumn = new int[1024];
+    private int[] isbnColumn = new int[1024];
+    private long[] priceColumn = new long[1024];
+    private int[][] categoryColumn = new int[1024][];
+    private int size;
+
+    public BookFacetIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            live.clear();
+            titles.clear();
+            authors.clear();
+            isbns.clear();
+            categoryOrdinals.clear();
+            categoryIds.clear();
+            size = 0;
+
+            List<Book> batch = bookRepository.findByIdGreaterThan(0L,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            while (!batch.isEmpty()) {
+                // Categories are lazy and there is no session here, so load them in one query.
+                Map<Long, List<Long>> batchCategoryIds = bookRepository.findCategoryIds(
+                                batch.stream().map(Book::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(BookCategoryId::getBookId,
+                                Collectors.mapping(BookCategoryId::getCategoryId,
+                                        Collectors.toList())));
+                batch.forEach(book -> add(book,
+                        batchCategoryIds.getOrDefault(book.getId(), List.of())));
+                Long lastId = batch.get(batch.size() - 1).getId();
+                batch = bookRepository.findByIdGreaterThan(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        lock.writeLock().lock();
+        try {
+            delete(book.getId());
+            add(book, book.getCategories() == null ? List.of() : book.getCategories().stream()
+                    .map(Category::getId)
+                    .toList());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            delete(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookFacetsDto facets(BookSearchParametersDto searchParameters) {
+        lock.readLock().lock();
+        try {
+            BitSet titleFilter = titles.ordinals(searchParameters.titles());
+            BitSet authorFilter = authors.ordinals(searchParameters.authors());
+            BitSet isbnFilter = isbns.ordinals(searchParameters.isbns());
+            BitSet categoryFilter = categoryOrdinals(searchParameters.categoryIds());
+            long minPrice = searchParameters.minPrice() == null ? Long.MIN_VALUE
+                    : cents(searchParameters.minPrice(), RoundingMode.CEILING);
+            long maxPrice = searchParameters.maxPrice() == null ? Long.MAX_VALUE
+                    : cents(searchParameters.maxPrice(), RoundingMode.FLOOR);
+
+            int total = 0;
+            int[] categoryCounts = new int[categoryIds.size()];
+            int[] authorCounts = new int[authors.size()];
+            int[] priceCounts = new int[PRICE_LABELS.length];
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                if ((titleFilter != null && !titleFilter.get(titleColumn[slot]))
+                        || (authorFilter != null && !authorFilter.get(authorColumn[slot]))
+                        || (isbnFilter != null && !isbnFilter.get(isbnColumn[slot]))
+                        || priceColumn[slot] < minPrice || priceColumn[slot] > maxPrice
+                        || (categoryFilter != null
+                                && !inAnyCategory(categoryColumn[slot], categoryFilter))) {
+                    continue;
+                }
+                total++;
+                authorCounts[authorColumn[slot]]++;
+                priceCounts[priceBucket(priceColumn[slot])]++;
+                for (int category : categoryColumn[slot]) {
+                    categoryCounts[category]++;
+                }
+            }
+
+            return new BookFacetsDto(total,
+                    counts(categoryCounts, ordinal -> String.valueOf(categoryIds.get(ordinal)),
+                            categoryCounts.length),
+                    counts(authorCounts, authors::value, MAX_AUTHOR_FACETS),
+                    priceCounts(priceCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Book book, Collection<Long> bookCategoryIds) {
+        if (size == titleColumn.length) {
+            int capacity = size * 2;
+            titleColumn = Arrays.copyOf(titleColumn, capacity);
+            authorColumn = Arrays.copyOf(authorColumn, capacity);
+            isbnColumn = Arrays.copyOf(isbnColumn, capacity);
+            priceColumn = Arrays.copyOf(priceColumn, capacity);
+            categoryColumn = Arrays.copyOf(categoryColumn, capacity);
+        }
+        int slot = size++;
+        titleColumn[slot] = titles.ordinal(book.getTitle());
+        authorColumn[slot] = authors.ordinal(book.getAuthor());
+        isbnColumn[slot] = isbns.ordinal(book.getIsbn());
+        priceColumn[slot] = cents(book.getPrice(), RoundingMode.HALF_UP);
+        categoryColumn[slot] = categoryOrdinals(bookCategoryIds);
+        live.set(slot);
+        slots.put(book.getId(), slot);
+    }
+
+    private void delete(Long bookId) {
+        Integer slot = slots.remove(bookId);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        categoryColumn[slot] = NO_CATEGORIES;
+        if (size >= REBUILD_BATCH_SIZE && live.cardinality() < size / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] newSlots = new int[size];
+        int next = 0;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            titleColumn[next] = titleColumn[slot];
+            authorColumn[next] = authorColumn[slot];
+            isbnColumn[next] = isbnColumn[slot];
+            priceColumn[next] = priceColumn[slot];
+            categoryColumn[next] = categoryColumn[slot];
+            newSlots[slot] = next++;
+        }
+        slots.replaceAll((bookId, slot) -> newSlots[slot]);
+        Arrays.fill(categoryColumn, next, size, null);
+        live.clear();
+        live.set(0, next);
+        size = next;
+    }
+
+    private int[] categoryOrdinals(Collection<Long> bookCategoryIds) {
+        if (bookCategoryIds.isEmpty()) {
+            return NO_CATEGORIES;
+        }
+        return bookCategoryIds.stream()
+                .distinct()
+                .mapToInt(id -> categoryOrdinals.computeIfAbsent(id, key -> {
+                    categoryIds.add(key);
+                    return categoryIds.size() - 1;
+                }))
+                .toArray();
+    }
+
+    private BitSet categoryOrdinals(Long[] ids) {
+        if (ids == null || ids.length == 0) {
+            return null;
+        }
+        BitSet ordinals = new BitSet();
+        for (Long id : ids) {
+            Integer ordinal = categoryOrdinals.get(id);
+            if (ordinal != null) {
+                ordinals.set(ordinal);
+            }
+        }
+        return ordinals;
+    }
+
+    private static boolean inAnyCategory(int[] categories, BitSet filter) {
+        for (int category : categories) {
+            if (filter.get(category)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long cents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValue();
+    }
+
+    private static int priceBucket(long cents) {
+        int bucket = 0;
+        while (bucket < PRICE_BOUNDS_IN_CENTS.length && cents >= PRICE_BOUNDS_IN_CENTS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static List<BookFacetCountDto> counts(int[] counts,
+                                                 IntFunction<String> values,
+                                                 int limit) {
+        List<BookFacetCountDto> facets = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                facets.add(new BookFacetCountDto(values.apply(ordinal), counts[ordinal]));
+            }
+        }
+        facets.sort(Comparator.comparingInt(BookFacetCountDto::count).reversed()
+                .thenComparing(BookFacetCountDto::value));
+        return facets.size() > limit ? facets.subList(0, limit) : facets;
+    }
+
+    private static List<BookFacetCountDto> priceCounts(int[] counts) {
+        List<BookFacetCountDto> facets = new ArrayList<>(counts.length);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            facets.add(new BookFacetCountDto(PRICE_LABELS[bucket], counts[bucket]));
+        }
+        return facets;
+    }
+
+    // Case-insensitive to match the MySQL collation the search specifications run under.
+    private static class Dictionary {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int ordinal(String value) {
+            return ordinals.computeIfAbsent(value.toLowerCase(Locale.ROOT), key -> {
+                values.add(value);
+                return values.size() - 1;
+            });
+        }
+
+        private BitSet ordinals(String[] filter) {
+            if (filter == null || filter.length == 0) {
+                return null;
+            }
+            BitSet matches = new BitSet();
+            for (String value : filter) {
+                Integer ordinal = ordinals.get(value.toLowerCase(Locale.ROOT));
+                if (ordinal != null) {
+                    matches.set(ordinal);
+                }
+            }
+            return matches;
+        }
+
+        private void clear() {
+            ordinals.clear();
+            values.clear();
+        }
+
+        private String value(int ordinal) {
+            return values.get(ordinal);
+        }
+
+        private int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.spring.book.management.search;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.service.BookChangeListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+// One edit for words of up to five characters, two for longer ones.
+@Component
+public class BookFuzzyIndex implements BookChangeListener {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex vocabulary = new TrigramIndex();
+    private final Map<Long, Set<String>> indexedBooks = new HashMap<>();
+
+    public BookFuzzyIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            vocabulary.clear();
+            indexedBooks.clear();
+
+            List<Book> batch = bookRepository.findByIdGreaterThan(0L,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            while (!batch.isEmpty()) {
+                batch.forEach(this::add);
+                Long lastId = batch.get(batch.size() - 1).getId();
+                batch = bookRepository.findByIdGreaterThan(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        lock.writeLock().lock();
+        try {
+            delete(book.getId());
+            add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            delete(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Null when nothing was corrected.
+    public String correct(String query) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        List<String> corrected = new ArrayList<>(tokens.size());
+        boolean changed = false;
+
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                String replacement = vocabulary.contains(token)
+                        ? null
+                        : vocabulary.closest(token, maxEdits(token));
+                corrected.add(replacement == null ? token : replacement);
+                changed |= replacement != null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return changed ? String.join(" ", corrected) : null;
+    }
+
+    private void add(Book book) {
+        Set<String> words = new LinkedHashSet<>(Tokenizer.tokenize(book.getTitle()));
+        words.addAll(Tokenizer.tokenize(book.getAuthor()));
+        words.forEach(vocabulary::add);
+        indexedBooks.put(book.getId(), words);
+    }
+
+    private void delete(Long bookId) {
+        Set<String> words = indexedBooks.remove(bookId);
+        if (words != null) {
+            words.forEach(vocabulary::remove);
+        }
+    }
+
+    private static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+}
@@ -0,0 +1,167 @@
+package com.spring.book.management.search;
+
+import com.spring.book.management.dto.book.BookSuggestionDto;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.repository.order.BookSales;
+import com.spring.book.management.repository.order.OrderRepository;
+import com.spring.book.management.service.BookChangeListener;
+import com.spring.book.management.search.SuggestionTrie.Suggestion;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+// Authors are suggested once, with the sales of all their books combined.
+@Component
+public class BookSuggestionIndex implements BookChangeListener {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final String TITLE = "TITLE";
+    private static final String AUTHOR = "AUTHOR";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final OrderRepository orderRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> sales = new HashMap<>();
+    private final Map<Long, IndexedBook> indexedBooks = new HashMap<>();
+    private final Map<String, IndexedAuthor> authors = new HashMap<>();
+    private SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+
+    public BookSuggestionIndex(BookRepository bookRepository, OrderRepository orderRepository) {
+        this.bookRepository = bookRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            trie = new SuggestionTrie(MAX_SUGGESTIONS);
+            sales.clear();
+            indexedBooks.clear();
+            authors.clear();
+            for (BookSales bookSales : orderRepository.findBookSales()) {
+                sales.put(bookSales.getBookId(), bookSales.getQuantity());
+            }
+
+            List<Book> batch = bookRepository.findByIdGreaterThan(0L,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            while (!batch.isEmpty()) {
+                batch.forEach(book -> add(book.getId(), book.getTitle(), book.getAuthor()));
+                Long lastId = batch.get(batch.size() - 1).getId();
+                batch = bookRepository.findByIdGreaterThan(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        lock.writeLock().lock();
+        try {
+            delete(book.getId());
+            add(book.getId(), book.getTitle(), book.getAuthor());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            delete(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordSale(Long bookId, int quantity) {
+        lock.writeLock().lock();
+        try {
+            sales.merge(bookId, (long) quantity, Long::sum);
+            IndexedBook indexedBook = indexedBooks.get(bookId);
+            if (indexedBook != null) {
+                delete(bookId);
+                add(bookId, indexedBook.title().text(), indexedBook.author());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        String key = key(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.top(key, Math.min(limit, MAX_SUGGESTIONS))
+                    .stream()
+                    .map(suggestion -> new BookSuggestionDto(
+                            suggestion.text(), suggestion.type(), suggestion.bookId()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Long bookId, String title, String author) {
+        long popularity = sales.getOrDefault(bookId, 0L);
+        Suggestion titleSuggestion = new Suggestion(title, TITLE, bookId, popularity);
+        trie.put(key(title), titleSuggestion);
+        indexedBooks.put(bookId, new IndexedBook(titleSuggestion, author));
+
+        String authorKey = key(author);
+        IndexedAuthor previous = authors.get(authorKey);
+        if (previous == null) {
+            putAuthor(authorKey, new Suggestion(author, AUTHOR, null, popularity), 1);
+            return;
+        }
+        trie.remove(authorKey, previous.suggestion());
+        putAuthor(authorKey, new Suggestion(previous.suggestion().text(), AUTHOR, null,
+                previous.suggestion().popularity() + popularity), previous.bookCount() + 1);
+    }
+
+    private void delete(Long bookId) {
+        IndexedBook indexedBook = indexedBooks.remove(bookId);
+        if (indexedBook == null) {
+            return;
+        }
+        trie.remove(key(indexedBook.title().text()), indexedBook.title());
+
+        String authorKey = key(indexedBook.author());
+        IndexedAuthor previous = authors.remove(authorKey);
+        trie.remove(authorKey, previous.suggestion());
+        if (previous.bookCount() > 1) {
+            putAuthor(authorKey, new Suggestion(previous.suggestion().text(), AUTHOR, null,
+                    previous.suggestion().popularity() - indexedBook.title().popularity()),
+                    previous.bookCount() - 1);
+        }
+    }
+
+    private void putAuthor(String authorKey, Suggestion suggestion, int bookCount) {
+        authors.put(authorKey, new IndexedAuthor(suggestion, bookCount));
+        trie.put(authorKey, suggestion);
+    }
+
+    private static String key(String text) {
+        return String.join(" ", Tokenizer.tokenize(text));
+    }
+
+    private record IndexedBook(Suggestion title, String author) {
+    }
+
+    private record IndexedAuthor(Suggestion suggestion, int bookCount) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.spring.book.management.search;
+
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.service.BookChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+// Reindexed documents get fresh ordinals so postings stay sorted; see compact().
+@Component
+public class BookTextIndex implements BookChangeListener {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_BOOST = 3;
+    private static final int AUTHOR_BOOST = 2;
+    private static final int DESCRIPTION_BOOST = 1;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedBook> indexedBooks = new HashMap<>();
+    private long[] bookIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int nextOrdinal;
+    private long totalLength;
+
+    public BookTextIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            indexedBooks.clear();
+            nextOrdinal = 0;
+            totalLength = 0;
+
+            List<Book> batch = bookRepository.findByIdGreaterThan(0L,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            while (!batch.isEmpty()) {
+                batch.forEach(this::add);
+                Long lastId = batch.get(batch.size() - 1).getId();
+                batch = bookRepository.findByIdGreaterThan(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookSaved(Book book, boolean created) {
+        lock.writeLock().lock();
+        try {
+            delete(book.getId());
+            add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBookDeleted(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            delete(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = indexedBooks.size();
+            if (docCount == 0) {
+                return Collections.emptyList();
+            }
+            float averageLength = (float) totalLength / docCount;
+            float[] scores = new float[nextOrdinal];
+            BitSet matched = new BitSet(nextOrdinal);
+
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+                int documentFrequency = postingList.size();
+                float idf = (float) Math.log(1 + (docCount - documentFrequency + 0.5)
+                        / (documentFrequency + 0.5));
+                for (int i = 0; i < postingList.size(); i++) {
+                    int doc = postingList.doc(i);
+                    int frequency = postingList.frequency(i);
+                    float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores[doc] += idf * frequency * (K1 + 1) / (frequency + norm);
+                    matched.set(doc);
+                }
+            }
+
+            PriorityQueue<Integer> top = new PriorityQueue<>(
+                    Comparator.comparingDouble((Integer doc) -> scores[doc]));
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                top.offer(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            Long[] ranked = new Long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = bookIds[top.poll()];
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Book book) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        countTerms(frequencies, book.getTitle(), TITLE_BOOST);
+        countTerms(frequencies, book.getAuthor(), AUTHOR_BOOST);
+        countTerms(frequencies, book.getDescription(), DESCRIPTION_BOOST);
+
+        int ordinal = nextOrdinal++;
+        if (ordinal == bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, ordinal * 2);
+            lengths = Arrays.copyOf(lengths, ordinal * 2);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        bookIds[ordinal] = book.getId();
+        lengths[ordinal] = length;
+        totalLength += length;
+
+        frequencies.forEach((term, frequency) -> postings
+                .computeIfAbsent(term, key -> new PostingList())
+                .add(ordinal, frequency));
+        indexedBooks.put(book.getId(), new IndexedBook(
+                ordinal, length, frequencies.keySet().toArray(new String[0])));
+    }
+
+    private void delete(Long bookId) {
+        IndexedBook indexedBook = indexedBooks.remove(bookId);
+        if (indexedBook == null) {
+            return;
+        }
+        for (String term : indexedBook.terms()) {
+            PostingList postingList = postings.get(term);
+            postingList.remove(indexedBook.ordinal());
+            if (postingList.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= indexedBook.length();
+        if (nextOrdinal >= REBUILD_BATCH_SIZE && indexedBooks.size() < nextOrdinal / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] newOrdinals = new int[nextOrdinal];
+        Arrays.fill(newOrdinals, -1);
+        indexedBooks.values().forEach(indexedBook -> newOrdinals[indexedBook.ordinal()] = 0);
+        int next = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (newOrdinals[ordinal] < 0) {
+                continue;
+            }
+            bookIds[next] = bookIds[ordinal];
+            lengths[next] = lengths[ordinal];
+            newOrdinals[ordinal] = next++;
+        }
+        postings.values().forEach(postingList -> postingList.renumber(newOrdinals));
+        indexedBooks.replaceAll((bookId, indexedBook) -> new IndexedBook(
+                newOrdinals[indexedBook.ordinal()], indexedBook.length(), indexedBook.terms()));
+        nextOrdinal = next;
+    }
+
+    private void countTerms(Map<String, Integer> frequencies, String text, int boost) {
+        for (String token : Tokenizer.tokenize(text)) {
+            frequencies.merge(token, boost, Integer::sum);
+        }
+    }
+
+    private record IndexedBook(int ordinal, int length, String[] terms) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.spring.book.management.search;
+
+import java.util.Arrays;
+
+class PostingList {
+    private int[] docs = new int[4];
+    private int[] frequencies = new int[4];
+    private int size;
+
+    void add(int doc, int frequency) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        docs[size] = doc;
+        frequencies[size] = frequency;
+        size++;
+    }
+
+    void remove(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index < 0) {
+            return;
+        }
+        int tail = size - index - 1;
+        System.arraycopy(docs, index + 1, docs, index, tail);
+        System.arraycopy(frequencies, index + 1, frequencies, index, tail);
+        size--;
+    }
+
+    // The mapping must preserve order, so the list stays sorted without re-sorting.
+    void renumber(int[] newOrdinals) {
+        for (int i = 0; i < size; i++) {
+            docs[i] = newOrdinals[docs[i]];
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+}
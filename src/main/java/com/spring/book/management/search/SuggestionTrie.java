@@ -0,0 +1,242 @@
+package com.spring.book.management.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Radix trie; each node caches the top suggestions of its subtree.
+class SuggestionTrie {
+    static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::text)
+            .thenComparing(Suggestion::bookId,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+    private static final Suggestion[] NONE = new Suggestion[0];
+
+    private final int capacity;
+    private final Node root = new Node("");
+
+    SuggestionTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void put(String key, Suggestion suggestion) {
+        Node node = root;
+        node.offer(suggestion, capacity);
+        int depth = 0;
+        while (depth < key.length()) {
+            Node child = node.child(key.charAt(depth));
+            if (child == null) {
+                Node leaf = new Node(key.substring(depth));
+                leaf.addTerminal(suggestion);
+                leaf.offer(suggestion, capacity);
+                node.addChild(leaf);
+                return;
+            }
+            int common = commonPrefixLength(child.label, key, depth);
+            if (common < child.label.length()) {
+                child = node.split(child, common);
+            }
+            child.offer(suggestion, capacity);
+            node = child;
+            depth += common;
+        }
+        node.addTerminal(suggestion);
+    }
+
+    void remove(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        int depth = 0;
+        while (depth < key.length()) {
+            Node child = path.get(path.size() - 1).child(key.charAt(depth));
+            if (child == null || !key.startsWith(child.label, depth)) {
+                return;
+            }
+            path.add(child);
+            depth += child.label.length();
+        }
+        if (!path.get(path.size() - 1).removeTerminal(suggestion)) {
+            return;
+        }
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (i > 0 && node.isEmpty()) {
+                path.get(i - 1).removeChild(node);
+                continue;
+            }
+            if (i > 0 && node.terminals == null && node.children.length == 1) {
+                node.absorbOnlyChild();
+                continue;
+            }
+            if (!node.contains(suggestion)) {
+                return;
+            }
+            node.recompute(capacity);
+        }
+    }
+
+    List<Suggestion> top(String prefix, int limit) {
+        Node node = root;
+        int depth = 0;
+        while (depth < prefix.length()) {
+            node = node.child(prefix.charAt(depth));
+            if (node == null) {
+                return List.of();
+            }
+            int length = Math.min(node.label.length(), prefix.length() - depth);
+            if (!prefix.regionMatches(depth, node.label, 0, length)) {
+                return List.of();
+            }
+            depth += length;
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < max && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static class Node {
+        private String label;
+        private Node[] children = new Node[0];
+        private Suggestion[] terminals;
+        private Suggestion[] top = NONE;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char label = children[middle].label.charAt(0);
+                if (label < first) {
+                    low = middle + 1;
+                } else if (label > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -indexOf(child.label.charAt(0)) - 1;
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newChildren[insertAt] = child;
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1,
+                    children.length - insertAt);
+            children = newChildren;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index,
+                    children.length - index - 1);
+            children = newChildren;
+        }
+
+        // The new node has the same subtree, so it takes over the cached suggestions.
+        private Node split(Node child, int length) {
+            Node middle = new Node(child.label.substring(0, length));
+            middle.children = new Node[] {child};
+            middle.top = child.top;
+            children[indexOf(middle.label.charAt(0))] = middle;
+            child.label = child.label.substring(length);
+            return middle;
+        }
+
+        private void absorbOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            children = child.children;
+            terminals = child.terminals;
+            top = child.top;
+        }
+
+        private void addTerminal(Suggestion suggestion) {
+            if (terminals == null) {
+                terminals = new Suggestion[] {suggestion};
+                return;
+            }
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = suggestion;
+        }
+
+        private boolean removeTerminal(Suggestion suggestion) {
+            if (terminals == null) {
+                return false;
+            }
+            int index = Arrays.asList(terminals).indexOf(suggestion);
+            if (index < 0) {
+                return false;
+            }
+            if (terminals.length == 1) {
+                terminals = null;
+                return true;
+            }
+            Suggestion[] newTerminals = new Suggestion[terminals.length - 1];
+            System.arraycopy(terminals, 0, newTerminals, 0, index);
+            System.arraycopy(terminals, index + 1, newTerminals, index,
+                    terminals.length - index - 1);
+            terminals = newTerminals;
+            return true;
+        }
+
+        private boolean isEmpty() {
+            return terminals == null && children.length == 0;
+        }
+
+        private boolean contains(Suggestion suggestion) {
+            return Arrays.binarySearch(top, suggestion, RANKING) >= 0;
+        }
+
+        private void offer(Suggestion suggestion, int capacity) {
+            int index = -Arrays.binarySearch(top, suggestion, RANKING) - 1;
+            if (index < 0 || index >= capacity) {
+                return;
+            }
+            int length = Math.min(top.length + 1, capacity);
+            Suggestion[] newTop = new Suggestion[length];
+            System.arraycopy(top, 0, newTop, 0, index);
+            newTop[index] = suggestion;
+            System.arraycopy(top, index, newTop, index + 1, length - index - 1);
+            top = newTop;
+        }
+
+        private void recompute(int capacity) {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (terminals != null) {
+                candidates.addAll(Arrays.asList(terminals));
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            top = candidates.subList(0, Math.min(capacity, candidates.size()))
+                    .toArray(NONE);
+        }
+    }
+
+    record Suggestion(String text, String type, Long bookId, long popularity) {
+    }
+}
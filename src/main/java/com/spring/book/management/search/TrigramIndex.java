@@ -0,0 +1,169 @@
+package com.spring.book.management.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class TrigramIndex {
+    private static final char PADDING = '$';
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final List<Integer> frequencies = new ArrayList<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    boolean contains(String word) {
+        return ordinals.containsKey(word);
+    }
+
+    void add(String word) {
+        Integer ordinal = ordinals.get(word);
+        if (ordinal != null) {
+            frequencies.set(ordinal, frequencies.get(ordinal) + 1);
+            return;
+        }
+        int newOrdinal = words.size();
+        words.add(word);
+        frequencies.add(1);
+        ordinals.put(word, newOrdinal);
+        for (String trigram : trigrams(word)) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(newOrdinal, 1);
+        }
+    }
+
+    void remove(String word) {
+        Integer ordinal = ordinals.get(word);
+        if (ordinal == null) {
+            return;
+        }
+        int frequency = frequencies.get(ordinal) - 1;
+        frequencies.set(ordinal, frequency);
+        if (frequency > 0) {
+            return;
+        }
+        ordinals.remove(word);
+        words.set(ordinal, null);
+        for (String trigram : trigrams(word)) {
+            PostingList postingList = postings.get(trigram);
+            postingList.remove(ordinal);
+            if (postingList.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+        if (words.size() >= MIN_COMPACTION_SIZE && ordinals.size() < words.size() / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] newOrdinals = new int[words.size()];
+        int next = 0;
+        for (int ordinal = 0; ordinal < words.size(); ordinal++) {
+            String word = words.get(ordinal);
+            if (word == null) {
+                newOrdinals[ordinal] = -1;
+                continue;
+            }
+            words.set(next, word);
+            frequencies.set(next, frequencies.get(ordinal));
+            ordinals.put(word, next);
+            newOrdinals[ordinal] = next++;
+        }
+        words.subList(next, words.size()).clear();
+        frequencies.subList(next, frequencies.size()).clear();
+        postings.values().forEach(postingList -> postingList.renumber(newOrdinals));
+    }
+
+    // Ties go to the more frequent word.
+    String closest(String word, int maxEdits) {
+        Set<String> queryTrigrams = trigrams(word);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            PostingList postingList = postings.get(trigram);
+            if (postingList != null) {
+                for (int i = 0; i < postingList.size(); i++) {
+                    shared.merge(postingList.doc(i), 1, Integer::sum);
+                }
+            }
+        }
+
+        // Every edit, a transposition included, changes at most four padded trigrams.
+        int minShared = Math.max(1, queryTrigrams.size() - 4 * maxEdits);
+        String best = null;
+        int bestDistance = maxEdits + 1;
+        int bestFrequency = 0;
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            String candidateWord = words.get(candidate.getKey());
+            if (candidate.getValue() < minShared
+                    || Math.abs(candidateWord.length() - word.length()) > maxEdits) {
+                continue;
+            }
+            int distance = distance(word, candidateWord, maxEdits);
+            if (distance > maxEdits) {
+                continue;
+            }
+            int frequency = frequencies.get(candidate.getKey());
+            if (distance < bestDistance
+                    || (distance == bestDistance && frequency > bestFrequency)
+                    || (distance == bestDistance && frequency == bestFrequency
+                            && candidateWord.compareTo(best) < 0)) {
+                best = candidateWord;
+                bestDistance = distance;
+                bestFrequency = frequency;
+            }
+        }
+        return best;
+    }
+
+    void clear() {
+        ordinals.clear();
+        words.clear();
+        frequencies.clear();
+        postings.clear();
+    }
+
+    private static Set<String> trigrams(String word) {
+        String padded = PADDING + word + PADDING;
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Optimal string alignment; gives up with maxEdits + 1 once that is certain.
+    private static int distance(String left, String right, int maxEdits) {
+        int[] beforePrevious = new int[right.length() + 1];
+        int[] previous = new int[right.length() + 1];
+        int[] current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= right.length(); j++) {
+                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                        previous[j - 1] + cost);
+                if (i > 1 && j > 1 && left.charAt(i - 1) == right.charAt(j - 2)
+                        && left.charAt(i - 2) == right.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[right.length()], maxEdits + 1);
+    }
+}
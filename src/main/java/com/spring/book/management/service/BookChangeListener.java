@@ -0,0 +1,9 @@
+package com.spring.book.management.service;
+
+import com.spring.book.management.model.Book;
+
+public interface BookChangeListener {
+    void onBookSaved(Book book, boolean created);
+
+    void onBookDeleted(Long bookId);
+}
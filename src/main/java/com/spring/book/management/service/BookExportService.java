@@ -0,0 +1,11 @@
+package com.spring.book.management.service;
+
+import com.spring.book.management.dto.book.BookDto;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+public interface BookExportService {
+    Stream<BookDto> streamAll();
+
+    void exportCsv(OutputStream output);
+}
@@ -0,0 +1,10 @@
+package com.spring.book.management.service;
+
+import com.spring.book.management.dto.book.BookImportResultDto;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResultDto importCsv(InputStream input);
+
+    BookImportResultDto importNdjson(InputStream input);
+}
@@ -1,21 +1,48 @@
 package com.spring.book.management.service;
 
+import com.spring.book.management.dto.book.BookBatchDto;
 import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.dto.book.BookFacetsDto;
+import com.spring.book.management.dto.book.BookFuzzySearchResultDto;
 import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.dto.book.BookSliceDto;
+import com.spring.book.management.dto.book.BookSuggestionDto;
 import com.spring.book.management.dto.book.CreateBookRequestDto;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface BookService {
     BookDto save(CreateBookRequestDto createBookRequestDto);
 
     BookDto findById(Long id);
 
-    List<BookDto> findAll(Pageable pageable);
+    long findVersion(Long id);
+
+    BookBatchDto findAllById(List<Long> ids);
+
+    BookSliceDto findAll(Pageable pageable, boolean withTotal);
+
+    BookSliceDto findAllAfter(String cursor, Pageable pageable);
 
     BookDto updateBook(Long id, CreateBookRequestDto updatedBook);
 
     void deleteBook(Long id);
 
-    List<BookDto> search(BookSearchParametersDto searchParameters);
+    BookDto updateCoverImage(Long id, String coverImage);
+
+    BookSliceDto search(BookSearchParametersDto searchParameters,
+                        String cursor,
+                        Pageable pageable);
+
+    Stream<BookDto> streamSearch(BookSearchParametersDto searchParameters, Sort sort);
+
+    BookFacetsDto facets(BookSearchParametersDto searchParameters);
+
+    List<BookDto> fullTextSearch(String query, int limit);
+
+    BookFuzzySearchResultDto fuzzySearch(String query, int limit);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
 }
@@ -2,18 +2,30 @@ package com.spring.book.management.service;
 
 import com.spring.book.management.dto.CategoryDto;
 import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.dto.book.CategoryBookSliceDto;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface CategoryService {
-    List<CategoryDto> findAll();
+    List<CategoryDto> findAll(boolean withBookCounts);
+
+    byte[] findAllAsJson();
 
     CategoryDto findById(Long id);
 
+    byte[] findByIdAsJson(Long id);
+
+    long findVersion(Long id);
+
     CategoryDto save(CategoryDto dto);
 
     CategoryDto update(Long id, CategoryDto dto);
 
     void deleteById(Long id);
 
-    List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long categoryId);
+    CategoryBookSliceDto getBooksByCategoryId(Long categoryId, String cursor, Pageable pageable);
+
+    Stream<BookDtoWithoutCategoryIds> streamBooksByCategoryId(Long categoryId, Sort sort);
 }
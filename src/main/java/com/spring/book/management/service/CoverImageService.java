@@ -0,0 +1,23 @@
+package com.spring.book.management.service;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import org.springframework.http.MediaType;
+
+public interface CoverImageService {
+    String URL_PATH = "/api/books/covers";
+
+    String store(InputStream content, MediaType contentType);
+
+    StoredCover find(String fileName);
+
+    // Null for external URLs.
+    StoredCover findByUrl(String url);
+
+    static String url(String fileName) {
+        return URL_PATH + "/" + fileName;
+    }
+
+    record StoredCover(Path path, String contentHash, MediaType contentType) {
+    }
+}
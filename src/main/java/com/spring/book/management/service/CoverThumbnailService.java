@@ -0,0 +1,11 @@
+package com.spring.book.management.service;
+
+import java.util.function.Consumer;
+
+public interface CoverThumbnailService {
+    // False when the cover is not a stored image or the queue is full.
+    boolean enqueue(String coverImage, Consumer<CoverThumbnails> onGenerated);
+
+    record CoverThumbnails(String small, String medium) {
+    }
+}
@@ -4,12 +4,15 @@ import com.spring.book.management.dto.order.OrderRequestDto;
 import com.spring.book.management.dto.order.OrderResponseDto;
 import com.spring.book.management.model.Status;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderService {
     OrderResponseDto save(OrderRequestDto dto);
 
     List<OrderResponseDto> findAll();
 
+    Stream<OrderResponseDto> streamAll();
+
     OrderResponseDto updateOrderStatus(Long orderId, Status newStatus);
 
     OrderResponseDto getOrderById(Long orderId);
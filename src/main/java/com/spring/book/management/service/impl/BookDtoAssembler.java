@@ -0,0 +1,59 @@
+package com.spring.book.management.service.impl;
+
+import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.repository.book.BookCategoryId;
+import com.spring.book.management.repository.book.BookRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookDtoAssembler {
+    private final BookRepository bookRepository;
+
+    public BookDtoAssembler(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    public List<BookDto> withCategoryIds(List<BookDtoWithoutCategoryIds> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Set<Long>> categoryIds = bookRepository.findCategoryIds(rows.stream()
+                        .map(BookDtoWithoutCategoryIds::id)
+                        .toList())
+                .stream()
+                .collect(Collectors.groupingBy(BookCategoryId::getBookId, HashMap::new,
+                        Collectors.mapping(BookCategoryId::getCategoryId, Collectors.toSet())));
+
+        List<BookDto> books = new ArrayList<>(rows.size());
+        for (BookDtoWithoutCategoryIds row : rows) {
+            BookDto book = new BookDto();
+            book.setId(row.id());
+            book.setTitle(row.title());
+            book.setAuthor(row.author());
+            book.setIsbn(row.isbn());
+            book.setPrice(row.price());
+            book.setDescription(row.description());
+            book.setCoverImage(row.coverImage());
+            book.setCoverThumbnailSmall(row.coverThumbnailSmall());
+            book.setCoverThumbnailMedium(row.coverThumbnailMedium());
+            book.setCategoryIds(categoryIds.getOrDefault(row.id(), new HashSet<>()));
+            books.add(book);
+        }
+        return books;
+    }
+
+    // Closing the returned stream closes rows.
+    public Stream<BookDto> withCategoryIds(Stream<BookDtoWithoutCategoryIds> rows,
+                                           int windowSize) {
+        return StreamWindows.map(rows, windowSize, this::withCategoryIds);
+    }
+}
@@ -0,0 +1,83 @@
+package com.spring.book.management.service.impl;
+
+import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.service.BookExportService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+    private static final int WINDOW_SIZE = 500;
+    private static final List<String> CSV_HEADER = List.of("id", "title", "author", "isbn",
+            "price", "description", "coverImage", "categoryIds");
+
+    private final BookRepository bookRepository;
+    private final BookDtoAssembler bookDtoAssembler;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BookExportServiceImpl(BookRepository bookRepository,
+                                 BookDtoAssembler bookDtoAssembler,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.bookDtoAssembler = bookDtoAssembler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Stream<BookDto> streamAll() {
+        return Stream.of(WINDOW_SIZE).flatMap(windowSize -> bookDtoAssembler.withCategoryIds(
+                bookRepository.streamAll(), windowSize));
+    }
+
+    @Override
+    public void exportCsv(OutputStream output) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BookDto> books = bookDtoAssembler.withCategoryIds(
+                         bookRepository.streamAll(), WINDOW_SIZE);
+                 BufferedWriter bufferedWriter = new BufferedWriter(
+                         new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                CsvRecordWriter writer = new CsvRecordWriter(bufferedWriter);
+                writer.write(CSV_HEADER);
+                Iterator<BookDto> iterator = books.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(toCsvRecord(iterator.next()));
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private List<String> toCsvRecord(BookDto book) {
+        return List.of(
+                String.valueOf(book.getId()),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getIsbn(),
+                book.getPrice().toPlainString(),
+                nullToEmpty(book.getDescription()),
+                nullToEmpty(book.getCoverImage()),
+                book.getCategoryIds().stream()
+                        .sorted()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(";")));
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
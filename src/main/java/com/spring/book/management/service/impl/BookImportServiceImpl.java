@@ -0,0 +1,289 @@
+package com.spring.book.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.spring.book.management.cache.BookIsbnFilter;
+import com.spring.book.management.cache.CategoryBookCountCache;
+import com.spring.book.management.dto.book.BookImportErrorDto;
+import com.spring.book.management.dto.book.BookImportResultDto;
+import com.spring.book.management.dto.book.CreateBookRequestDto;
+import com.spring.book.management.exception.BookImportException;
+import com.spring.book.management.mapper.BookMapper;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.book.BookBatchRepository;
+import com.spring.book.management.service.BookChangeListener;
+import com.spring.book.management.service.BookImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final char BYTE_ORDER_MARK = 0xFEFF;
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("title", "author", "isbn", "price");
+
+    private final BookBatchRepository bookBatchRepository;
+    private final BookIsbnFilter bookIsbnFilter;
+    private final CategoryBookCountCache categoryBookCountCache;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ObjectReader bookReader;
+    private final TransactionTemplate transactionTemplate;
+    private final List<BookChangeListener> bookChangeListeners;
+
+    public BookImportServiceImpl(BookBatchRepository bookBatchRepository,
+                                 BookIsbnFilter bookIsbnFilter,
+                                 CategoryBookCountCache categoryBookCountCache,
+                                 BookMapper bookMapper,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 List<BookChangeListener> bookChangeListeners) {
+        this.bookBatchRepository = bookBatchRepository;
+        this.bookIsbnFilter = bookIsbnFilter;
+        this.categoryBookCountCache = categoryBookCountCache;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.bookReader = objectMapper.readerFor(CreateBookRequestDto.class);
+        this.transactionTemplate = transactionTemplate;
+        this.bookChangeListeners = bookChangeListeners;
+    }
+
+    @Override
+    public BookImportResultDto importCsv(InputStream input) {
+        ImportRun run = new ImportRun(bookBatchRepository.findActiveCategoryIds());
+        try (BufferedReader reader = reader(input)) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                return run.finish();
+            }
+            Map<String, Integer> columns = columns(header);
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(csv.recordLine(), fromCsv(record, columns));
+                } catch (IllegalArgumentException e) {
+                    run.reject(csv.recordLine(), value(record, columns, "isbn"),
+                            "Malformed value: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new BookImportException("Failed to read the import stream", e);
+        }
+        return run.finish();
+    }
+
+    @Override
+    public BookImportResultDto importNdjson(InputStream input) {
+        ImportRun run = new ImportRun(bookBatchRepository.findActiveCategoryIds());
+        try (BufferedReader reader = reader(input)) {
+            long line = 0;
+            String json;
+            while ((json = reader.readLine()) != null) {
+                line++;
+                if (json.isBlank()) {
+                    continue;
+                }
+                try {
+                    CreateBookRequestDto dto = bookReader.readValue(json);
+                    if (dto == null) {
+                        run.reject(line, null, "Expected a JSON object");
+                    } else {
+                        run.accept(line, dto);
+                    }
+                } catch (JsonProcessingException e) {
+                    run.reject(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new BookImportException("Failed to read the import stream", e);
+        }
+        return run.finish();
+    }
+
+    private BufferedReader reader(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (!name.isEmpty() && name.charAt(0) == BYTE_ORDER_MARK) {
+                name = name.substring(1);
+            }
+            columns.put(name.toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new BookImportException("Missing CSV column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private CreateBookRequestDto fromCsv(List<String> record, Map<String, Integer> columns) {
+        String price = value(record, columns, "price");
+        CreateBookRequestDto dto = new CreateBookRequestDto(
+                value(record, columns, "title"),
+                value(record, columns, "author"),
+                value(record, columns, "isbn"),
+                price == null ? null : new BigDecimal(price),
+                value(record, columns, "description"),
+                value(record, columns, "coverimage"));
+
+        String categoryIds = value(record, columns, "categoryids");
+        if (categoryIds != null) {
+            Set<Long> ids = new HashSet<>();
+            for (String id : categoryIds.split(";")) {
+                if (!id.isBlank()) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+            dto.setCategoryIds(ids);
+        }
+        return dto;
+    }
+
+    private String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size() || record.get(index).isBlank()) {
+            return null;
+        }
+        return record.get(index).trim();
+    }
+
+    private Book toBook(CreateBookRequestDto dto) {
+        Book book = bookMapper.toModel(dto);
+        if (dto.getCategoryIds() != null) {
+            for (Long categoryId : dto.getCategoryIds()) {
+                Category category = new Category();
+                category.setId(categoryId);
+                book.getCategories().add(category);
+            }
+        }
+        return book;
+    }
+
+    private class ImportRun {
+        private final Set<Long> categoryIds;
+        private final Map<String, PendingBook> chunk = new LinkedHashMap<>();
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        private ImportRun(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        private void accept(long line, CreateBookRequestDto dto) {
+            Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                reject(line, dto.getIsbn(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (dto.getCategoryIds() != null) {
+                for (Long categoryId : dto.getCategoryIds()) {
+                    if (!categoryIds.contains(categoryId)) {
+                        reject(line, dto.getIsbn(), "Unknown category id: " + categoryId);
+                        return;
+                    }
+                }
+            }
+            if (chunk.containsKey(dto.getIsbn())) {
+                reject(line, dto.getIsbn(), "Duplicate ISBN in import");
+                return;
+            }
+
+            chunk.put(dto.getIsbn(), new PendingBook(line, dto));
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(long line, String isbn, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(line, isbn, message));
+            }
+        }
+
+        private BookImportResultDto finish() {
+            flush();
+            return new BookImportResultDto(imported, rejected, errors);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Set<String> existingIsbns = bookBatchRepository.findExistingIsbns(chunk.keySet()
+                    .stream()
+                    .filter(bookIsbnFilter::mightContain)
+                    .toList());
+            List<PendingBook> pending = new ArrayList<>(chunk.size());
+            for (PendingBook pendingBook : chunk.values()) {
+                if (existingIsbns.contains(pendingBook.dto().getIsbn())) {
+                    reject(pendingBook.line(), pendingBook.dto().getIsbn(), "ISBN already exists");
+                } else {
+                    pending.add(pendingBook);
+                }
+            }
+            chunk.clear();
+
+            List<Book> books = pending.stream()
+                    .map(pendingBook -> toBook(pendingBook.dto()))
+                    .toList();
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> bookBatchRepository.insertAll(books));
+            } catch (DataAccessException e) {
+                String message = "Failed to store book: " + e.getMostSpecificCause().getMessage();
+                pending.forEach(pendingBook ->
+                        reject(pendingBook.line(), pendingBook.dto().getIsbn(), message));
+                return;
+            }
+
+            imported += books.size();
+            for (Book book : books) {
+                categoryBookCountCache.onBookMoved(List.of(), book.getCategories().stream()
+                        .map(Category::getId)
+                        .toList());
+                bookChangeListeners.forEach(listener -> listener.onBookSaved(book, true));
+            }
+        }
+    }
+
+    private record PendingBook(long line, CreateBookRequestDto dto) {
+    }
+}
@@ -1,43 +1,116 @@
 package com.spring.book.management.service.impl;
 
+import com.spring.book.management.cache.BookCountCache;
+import com.spring.book.management.cache.BookDtoCache;
+import com.spring.book.management.cache.BookIsbnFilter;
+import com.spring.book.management.cache.BookSearchCache;
+import com.spring.book.management.cache.CategoryBookCountCache;
+import com.spring.book.management.dto.book.BookBatchDto;
 import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.dto.book.BookFacetsDto;
+import com.spring.book.management.dto.book.BookFuzzySearchResultDto;
 import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.dto.book.BookSliceDto;
+import com.spring.book.management.dto.book.BookSuggestionDto;
 import com.spring.book.management.dto.book.CreateBookRequestDto;
 import com.spring.book.management.exception.BookNotFoundException;
 import com.spring.book.management.exception.DuplicateIsbnException;
+import com.spring.book.management.exception.InvalidBatchRequestException;
 import com.spring.book.management.mapper.BookMapper;
 import com.spring.book.management.model.Book;
 import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.book.BookCategoryId;
+import com.spring.book.management.repository.book.BookKeysetCursor;
 import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.repository.book.BookSearchQuery;
 import com.spring.book.management.repository.book.BookSpecificationBuilder;
 import com.spring.book.management.repository.category.CategoryRepository;
+import com.spring.book.management.search.BookFacetIndex;
+import com.spring.book.management.search.BookFuzzyIndex;
+import com.spring.book.management.search.BookSuggestionIndex;
+import com.spring.book.management.search.BookTextIndex;
+import com.spring.book.management.service.BookChangeListener;
 import com.spring.book.management.service.BookService;
+import com.spring.book.management.service.CoverThumbnailService;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class BookServiceImpl implements BookService {
+    private static final int MAX_FULL_TEXT_RESULTS = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int STREAM_WINDOW_SIZE = 500;
 
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookKeysetCursor bookKeysetCursor;
+    private final BookCountCache bookCountCache;
+    private final BookTextIndex bookTextIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookSearchCache bookSearchCache;
+    private final BookDtoCache bookDtoCache;
+    private final BookIsbnFilter bookIsbnFilter;
+    private final BookFacetIndex bookFacetIndex;
+    private final BookFuzzyIndex bookFuzzyIndex;
+    private final BookDtoAssembler bookDtoAssembler;
+    private final CategoryBookCountCache categoryBookCountCache;
+    private final CoverThumbnailService coverThumbnailService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<BookChangeListener> bookChangeListeners;
 
     public BookServiceImpl(BookRepository bookRepository,
                            CategoryRepository categoryRepository,
                            BookMapper bookMapper,
-                           BookSpecificationBuilder bookSpecificationBuilder) {
+                           BookSpecificationBuilder bookSpecificationBuilder,
+                           BookKeysetCursor bookKeysetCursor,
+                           BookCountCache bookCountCache,
+                           BookTextIndex bookTextIndex,
+                           BookSuggestionIndex bookSuggestionIndex,
+                           BookSearchCache bookSearchCache,
+                           BookDtoCache bookDtoCache,
+                           BookIsbnFilter bookIsbnFilter,
+                           BookFacetIndex bookFacetIndex,
+                           BookFuzzyIndex bookFuzzyIndex,
+                           BookDtoAssembler bookDtoAssembler,
+                           CategoryBookCountCache categoryBookCountCache,
+                           CoverThumbnailService coverThumbnailService,
+                           PlatformTransactionManager transactionManager,
+                           List<BookChangeListener> bookChangeListeners) {
         this.bookRepository = bookRepository;
         this.categoryRepository = categoryRepository;
         this.bookMapper = bookMapper;
         this.bookSpecificationBuilder = bookSpecificationBuilder;
+        this.bookKeysetCursor = bookKeysetCursor;
+        this.bookCountCache = bookCountCache;
+        this.bookTextIndex = bookTextIndex;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.bookSearchCache = bookSearchCache;
+        this.bookDtoCache = bookDtoCache;
+        this.bookIsbnFilter = bookIsbnFilter;
+        this.bookFacetIndex = bookFacetIndex;
+        this.bookFuzzyIndex = bookFuzzyIndex;
+        this.bookDtoAssembler = bookDtoAssembler;
+        this.categoryBookCountCache = categoryBookCountCache;
+        this.coverThumbnailService = coverThumbnailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookChangeListeners = bookChangeListeners;
     }
 
     public BookDto save(CreateBookRequestDto dto) {
@@ -46,47 +119,143 @@ public class BookServiceImpl implements BookService {
         Book book = bookMapper.toModel(dto);
         setBookCategories(book, dto.getCategoryIds());
         Book savedBook = bookRepository.save(book);
+        categoryBookCountCache.onBookMoved(List.of(), categoryIds(savedBook));
+        bookChangeListeners.forEach(listener -> listener.onBookSaved(savedBook, true));
+        requestThumbnails(savedBook);
         return bookMapper.toDto(savedBook);
     }
 
     private void validateIsbn(String isbn) {
-        if (bookRepository.existsByIsbn(isbn)) {
+        if (bookIsbnFilter.mightContain(isbn) && bookRepository.existsByIsbn(isbn)) {
             throw new DuplicateIsbnException("ISBN already exists");
         }
     }
 
     @Override
     public BookDto findById(Long id) {
-        Optional<Book> bookOptional = bookRepository.findById(id);
-        if (bookOptional.isEmpty()) {
-            throw new BookNotFoundException(id);
+        return bookDtoCache.get(id, key -> bookRepository.findById(key)
+                .map(bookMapper::toDto)
+                .orElseThrow(() -> new BookNotFoundException(key)));
+    }
+
+    @Override
+    public BookBatchDto findAllById(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchRequestException(
+                    "At most " + MAX_BATCH_SIZE + " books can be requested at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBatchRequestException("Book ids must not be blank");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, BookDto> books = new HashMap<>(bookDtoCache.getAllPresent(requested));
+        List<Long> misses = requested.stream()
+                .filter(id -> !books.containsKey(id))
+                .toList();
+        if (!misses.isEmpty()) {
+            // Not written back to the cache: a write between this read and the put would
+            // leave a stale entry behind, which the per-id loader cannot do.
+            List<BookDtoWithoutCategoryIds> rows = bookRepository.findRows(
+                    (root, query, cb) -> root.get("id").in(misses),
+                    Sort.by("id"), 0, misses.size());
+            bookDtoAssembler.withCategoryIds(rows)
+                    .forEach(book -> books.put(book.getId(), book));
+        }
+
+        List<BookDto> found = new ArrayList<>(requested.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            BookDto book = books.get(id);
+            if (book != null) {
+                found.add(book);
+            } else {
+                missingIds.add(id);
+            }
         }
+        return new BookBatchDto(found, missingIds);
+    }
 
-        return bookOptional.map(bookMapper::toDto).orElse(null);
+    @Override
+    public long findVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
     }
 
     @Override
-    public List<BookDto> findAll(Pageable pageable) {
-        Page<Book> books = bookRepository.findAll(pageable);
+    public BookSliceDto findAll(Pageable pageable, boolean withTotal) {
+        Pageable stablePageable = bookKeysetCursor.normalize(pageable);
+        Sort sort = stablePageable.getSort();
+        int size = stablePageable.getPageSize();
+        List<BookDtoWithoutCategoryIds> rows = bookRepository.findRows(
+                null, sort, stablePageable.getOffset(), size + 1);
 
-        return books.stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            if (bookKeysetCursor.supports(sort)) {
+                nextCursor = bookKeysetCursor.encode(rows.get(size - 1), sort);
+            }
+        }
+        Long totalCount = withTotal ? bookCountCache.get() : null;
+
+        return new BookSliceDto(bookDtoAssembler.withCategoryIds(rows), nextCursor, totalCount);
+    }
+
+    @Override
+    public BookSliceDto findAllAfter(String cursor, Pageable pageable) {
+        Sort sort = bookKeysetCursor.normalize(pageable.getSort());
+        int size = pageable.getPageSize();
+        List<BookDtoWithoutCategoryIds> rows = bookRepository.findRows(
+                bookKeysetCursor.after(cursor, sort), sort, 0, size + 1);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = bookKeysetCursor.encode(rows.get(size - 1), sort);
+        }
+
+        return new BookSliceDto(bookDtoAssembler.withCategoryIds(rows), nextCursor, null);
     }
 
     public BookDto updateBook(Long id, CreateBookRequestDto dto) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book not found"));
 
-        if (!book.getIsbn().equals(dto.getIsbn())
-                && bookRepository.existsByIsbn(dto.getIsbn())) {
-            throw new DuplicateIsbnException("ISBN already exists");
+        if (!book.getIsbn().equals(dto.getIsbn())) {
+            validateIsbn(dto.getIsbn());
         }
 
+        Set<Long> previousCategoryIds = categoryIds(book);
+        String previousCoverImage = book.getCoverImage();
         bookMapper.toEntity(dto, book);
+        boolean coverChanged = !Objects.equals(previousCoverImage, book.getCoverImage());
+        if (coverChanged) {
+            clearThumbnails(book);
+        }
 
         setBookCategories(book, dto.getCategoryIds());
         Book updatedBook = bookRepository.save(book);
+        categoryBookCountCache.onBookMoved(
+                previousCategoryIds, categoryIds(updatedBook));
+        bookChangeListeners.forEach(listener -> listener.onBookSaved(updatedBook, false));
+        if (coverChanged) {
+            requestThumbnails(updatedBook);
+        }
+        return bookMapper.toDto(updatedBook);
+    }
+
+    @Override
+    public BookDto updateCoverImage(Long id, String coverImage) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
+        if (coverImage.equals(book.getCoverImage())) {
+            return bookMapper.toDto(book);
+        }
+        book.setCoverImage(coverImage);
+        clearThumbnails(book);
+        Book updatedBook = bookRepository.save(book);
+        bookChangeListeners.forEach(listener -> listener.onBookSaved(updatedBook, false));
+        requestThumbnails(updatedBook);
         return bookMapper.toDto(updatedBook);
     }
 
@@ -95,19 +264,133 @@ public class BookServiceImpl implements BookService {
         if (!bookRepository.existsById(id)) {
             throw new BookNotFoundException("Book not found with id: " + id);
         }
+        List<Long> categoryIds = bookRepository.findCategoryIds(List.of(id)).stream()
+                .map(BookCategoryId::getCategoryId)
+                .toList();
         bookRepository.deleteById(id);
+        categoryBookCountCache.onBookMoved(categoryIds, List.of());
+        bookChangeListeners.forEach(listener -> listener.onBookDeleted(id));
     }
 
     @Override
-    public List<BookDto> search(BookSearchParametersDto searchParameters) {
-        Specification<Book> bookSpecification =
-                bookSpecificationBuilder.build(searchParameters);
-        return bookRepository.findAll(bookSpecification)
+    public BookSliceDto search(BookSearchParametersDto searchParameters,
+                               String cursor,
+                               Pageable pageable) {
+        Sort sort = bookKeysetCursor.normalize(pageable.getSort());
+        int size = pageable.getPageSize();
+        BookSearchQuery searchQuery = bookSpecificationBuilder.buildQuery(searchParameters);
+        List<BookDtoWithoutCategoryIds> rows;
+        if (cursor == null && pageable.getPageNumber() > 0) {
+            rows = bookRepository.searchRows(searchQuery, sort, pageable.getOffset(), size + 1);
+        } else {
+            if (cursor != null) {
+                searchQuery = searchQuery.and(bookKeysetCursor.seek(cursor, sort));
+            }
+            String page = sort + ";" + size + ";" + cursor;
+            List<Long> cachedIds = bookSearchCache.get(searchParameters, page);
+            if (cachedIds != null) {
+                rows = cachedIds.isEmpty() ? List.of() : bookRepository.searchRows(
+                        new BookSearchQuery("b.id IN :ids", Map.of("ids", cachedIds)),
+                        sort, 0, cachedIds.size());
+            } else {
+                long cacheVersion = bookSearchCache.version();
+                rows = bookRepository.searchRows(searchQuery, sort, 0, size + 1);
+                bookSearchCache.put(searchParameters, page,
+                        rows.stream().map(BookDtoWithoutCategoryIds::id).toList(),
+                        cacheVersion);
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = bookKeysetCursor.encode(rows.get(size - 1), sort);
+        }
+        return new BookSliceDto(bookDtoAssembler.withCategoryIds(rows), nextCursor, null);
+    }
+
+    @Override
+    public Stream<BookDto> streamSearch(BookSearchParametersDto searchParameters, Sort sort) {
+        Sort normalized = bookKeysetCursor.normalize(sort);
+        BookSearchQuery searchQuery = bookSpecificationBuilder.buildQuery(searchParameters);
+        // Parameters are checked now; the scrolling query waits for the caller's transaction.
+        return Stream.of(searchQuery).flatMap(query -> bookDtoAssembler.withCategoryIds(
+                bookRepository.streamSearchRows(query, normalized), STREAM_WINDOW_SIZE));
+    }
+
+    @Override
+    public BookFacetsDto facets(BookSearchParametersDto searchParameters) {
+        return bookFacetIndex.facets(searchParameters);
+    }
+
+    @Override
+    public List<BookDto> fullTextSearch(String query, int limit) {
+        return findAllInOrder(bookTextIndex.search(query,
+                Math.min(limit, MAX_FULL_TEXT_RESULTS)))
                 .stream()
                 .map(bookMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public BookFuzzySearchResultDto fuzzySearch(String query, int limit) {
+        String correctedQuery = bookFuzzyIndex.correct(query);
+        List<BookDto> books = fullTextSearch(
+                correctedQuery == null ? query : correctedQuery, limit);
+        return new BookFuzzySearchResultDto(books, correctedQuery);
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        return bookSuggestionIndex.suggest(prefix, limit);
+    }
+
+    private List<Book> findAllInOrder(List<Long> ids) {
+        Map<Long, Book> books = bookRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void requestThumbnails(Book book) {
+        Long id = book.getId();
+        String coverImage = book.getCoverImage();
+        if (coverImage != null) {
+            coverThumbnailService.enqueue(coverImage,
+                    thumbnails -> recordThumbnails(id, coverImage, thumbnails));
+        }
+    }
+
+    private void recordThumbnails(Long id,
+                                  String coverImage,
+                                  CoverThumbnailService.CoverThumbnails thumbnails) {
+        transactionTemplate.executeWithoutResult(status -> bookRepository.findById(id)
+                // A cover replaced while the job ran gets its own thumbnails.
+                .filter(book -> coverImage.equals(book.getCoverImage()))
+                .ifPresent(book -> {
+                    book.setCoverThumbnailSmall(thumbnails.small());
+                    book.setCoverThumbnailMedium(thumbnails.medium());
+                    Book updatedBook = bookRepository.save(book);
+                    bookChangeListeners.forEach(
+                            listener -> listener.onBookSaved(updatedBook, false));
+                }));
+    }
+
+    private static void clearThumbnails(Book book) {
+        book.setCoverThumbnailSmall(null);
+        book.setCoverThumbnailMedium(null);
+    }
+
+    private static Set<Long> categoryIds(Book book) {
+        return book.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+    }
+
     private void setBookCategories(Book book, Set<Long> categoryIds) {
         if (categoryIds != null && !categoryIds.isEmpty()) {
             Set<Category> categories = new HashSet<>(categoryRepository.findAllById(categoryIds));
@@ -1,16 +1,26 @@
 package com.spring.book.management.service.impl;
 
+import com.spring.book.management.cache.CategoryBookCountCache;
+import com.spring.book.management.cache.CategorySnapshot;
+import com.spring.book.management.cache.CategorySnapshotCache;
 import com.spring.book.management.dto.CategoryDto;
 import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.dto.book.CategoryBookSliceDto;
 import com.spring.book.management.exception.CategoryNotFoundException;
-import com.spring.book.management.mapper.BookMapper;
 import com.spring.book.management.mapper.CategoryMapper;
+import com.spring.book.management.model.Book;
 import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.book.BookKeysetCursor;
 import com.spring.book.management.repository.book.BookRepository;
 import com.spring.book.management.repository.category.CategoryRepository;
 import com.spring.book.management.service.CategoryService;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,36 +28,62 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final BookRepository bookRepository;
-    private final BookMapper bookMapper;
+    private final BookKeysetCursor bookKeysetCursor;
+    private final CategoryBookCountCache categoryBookCountCache;
+    private final CategorySnapshotCache categorySnapshotCache;
 
     public CategoryServiceImpl(CategoryRepository categoryRepository,
                                CategoryMapper categoryMapper,
                                BookRepository bookRepository,
-                               BookMapper bookMapper) {
+                               BookKeysetCursor bookKeysetCursor,
+                               CategoryBookCountCache categoryBookCountCache,
+                               CategorySnapshotCache categorySnapshotCache) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
         this.bookRepository = bookRepository;
-        this.bookMapper = bookMapper;
+        this.bookKeysetCursor = bookKeysetCursor;
+        this.categoryBookCountCache = categoryBookCountCache;
+        this.categorySnapshotCache = categorySnapshotCache;
     }
 
     @Override
-    public List<CategoryDto> findAll() {
-        return categoryRepository.findAll()
-                .stream()
-                .map(categoryMapper::toDto)
+    public List<CategoryDto> findAll(boolean withBookCounts) {
+        List<CategoryDto> categories = categorySnapshotCache.get().categories();
+        if (!withBookCounts) {
+            return categories;
+        }
+        Map<Long, Long> bookCounts = categoryBookCountCache.getAll();
+        return categories.stream()
+                .map(dto -> dto.withBookCount(bookCounts.getOrDefault(dto.id(), 0L)))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public byte[] findAllAsJson() {
+        return categorySnapshotCache.get().json();
+    }
+
     @Override
     public CategoryDto findById(Long id) {
-        return categoryMapper.toDto(
-                categoryRepository.findById(id)
-                        .orElseThrow(CategoryNotFoundException::new));
+        return findEntry(id).category();
+    }
+
+    @Override
+    public byte[] findByIdAsJson(Long id) {
+        return findEntry(id).json();
+    }
+
+    @Override
+    public long findVersion(Long id) {
+        return findEntry(id).version();
     }
 
     @Override
     public CategoryDto save(CategoryDto dto) {
-        return categoryMapper.toDto(categoryRepository.save(categoryMapper.toEntity(dto)));
+        CategoryDto saved = categoryMapper.toDto(
+                categoryRepository.save(categoryMapper.toEntity(dto)));
+        categorySnapshotCache.refresh();
+        return saved;
     }
 
     @Override
@@ -56,7 +92,9 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(CategoryNotFoundException::new);
         category.setName(dto.name());
         category.setDescription(dto.description());
-        return categoryMapper.toDto(categoryRepository.save(category));
+        CategoryDto updated = categoryMapper.toDto(categoryRepository.save(category));
+        categorySnapshotCache.refresh();
+        return updated;
     }
 
     @Override
@@ -65,15 +103,55 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CategoryNotFoundException(id);
         }
         categoryRepository.deleteById(id);
+        categorySnapshotCache.refresh();
     }
 
     @Override
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(Long categoryId) {
-        if (!categoryRepository.existsById(categoryId)) {
+    public CategoryBookSliceDto getBooksByCategoryId(Long categoryId,
+                                                     String cursor,
+                                                     Pageable pageable) {
+        Sort sort = bookKeysetCursor.normalize(pageable.getSort());
+        int size = pageable.getPageSize();
+        Specification<Book> spec = inCategory(categoryId);
+        long offset = pageable.getOffset();
+        if (cursor != null) {
+            spec = spec.and(bookKeysetCursor.after(cursor, sort));
+            offset = 0;
+        }
+        List<BookDtoWithoutCategoryIds> rows =
+                bookRepository.findRows(spec, sort, offset, size + 1);
+
+        // Only an empty page needs to tell a missing category from an empty one.
+        if (rows.isEmpty() && !categoryRepository.existsById(categoryId)) {
             throw new CategoryNotFoundException(categoryId);
         }
-        return bookRepository.findByCategories_Id(categoryId).stream()
-                .map(bookMapper::toDtoWithoutCategories)
-                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = bookKeysetCursor.encode(rows.get(size - 1), sort);
+        }
+        return new CategoryBookSliceDto(rows, nextCursor);
+    }
+
+    @Override
+    public Stream<BookDtoWithoutCategoryIds> streamBooksByCategoryId(Long categoryId, Sort sort) {
+        Sort normalized = bookKeysetCursor.normalize(sort);
+        // The snapshot answers a missing category before any row or byte is produced.
+        findEntry(categoryId);
+        return Stream.of(inCategory(categoryId))
+                .flatMap(spec -> bookRepository.streamRows(spec, normalized));
+    }
+
+    private CategorySnapshot.Entry findEntry(Long id) {
+        CategorySnapshot.Entry entry = categorySnapshotCache.get().get(id);
+        if (entry == null) {
+            throw new CategoryNotFoundException(id);
+        }
+        return entry;
+    }
+
+    private static Specification<Book> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.join("categories").get("id"), categoryId);
     }
 }
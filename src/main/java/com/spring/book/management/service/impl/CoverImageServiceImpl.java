@@ -0,0 +1,137 @@
+package com.spring.book.management.service.impl;
+
+import com.spring.book.management.exception.CoverImageNotFoundException;
+import com.spring.book.management.exception.InvalidCoverImageException;
+import com.spring.book.management.service.CoverImageService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+// Content-addressed <dir>/ab/cd/<sha-256>.<ext>; uploads are moved into place when done.
+@Service
+public class CoverImageServiceImpl implements CoverImageService {
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            MediaType.IMAGE_JPEG_VALUE, "jpg",
+            MediaType.IMAGE_PNG_VALUE, "png",
+            MediaType.IMAGE_GIF_VALUE, "gif",
+            "image/webp", "webp");
+    private static final Map<String, MediaType> CONTENT_TYPES = Map.of(
+            "jpg", MediaType.IMAGE_JPEG,
+            "png", MediaType.IMAGE_PNG,
+            "gif", MediaType.IMAGE_GIF,
+            "webp", MediaType.parseMediaType("image/webp"));
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z]+)");
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path root;
+    private final long maxBytes;
+
+    public CoverImageServiceImpl(@Value("${book.covers.dir:covers}") Path root,
+                                 @Value("${book.covers.max-size:5MB}") DataSize maxSize) {
+        this.root = root.toAbsolutePath();
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    @Override
+    public String store(InputStream content, MediaType contentType) {
+        String extension = contentType == null
+                ? null
+                : EXTENSIONS.get(contentType.getType() + "/" + contentType.getSubtype());
+        if (extension == null) {
+            throw new InvalidCoverImageException("Unsupported cover image type " + contentType);
+        }
+        try {
+            Path uploads = Files.createDirectories(root.resolve("tmp"));
+            Path upload = Files.createTempFile(uploads, "upload-", ".part");
+            try {
+                String hash = copy(content, upload);
+                String fileName = hash + "." + extension;
+                Path target = pathOf(hash, fileName);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return fileName;
+            } finally {
+                Files.deleteIfExists(upload);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public StoredCover find(String fileName) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        MediaType contentType = matcher.matches() ? CONTENT_TYPES.get(matcher.group(2)) : null;
+        if (contentType == null) {
+            throw new CoverImageNotFoundException(fileName);
+        }
+        Path path = pathOf(matcher.group(1), fileName);
+        if (!Files.isRegularFile(path)) {
+            throw new CoverImageNotFoundException(fileName);
+        }
+        return new StoredCover(path, matcher.group(1), contentType);
+    }
+
+    @Override
+    public StoredCover findByUrl(String url) {
+        String prefix = URL_PATH + "/";
+        if (url == null || !url.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return find(url.substring(prefix.length()));
+        } catch (CoverImageNotFoundException e) {
+            return null;
+        }
+    }
+
+    private String copy(InputStream content, Path upload) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(upload)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new InvalidCoverImageException(
+                            "Cover image is larger than " + maxBytes + " bytes");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        if (size == 0) {
+            throw new InvalidCoverImageException("Cover image is empty");
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Path pathOf(String hash, String fileName) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(fileName);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
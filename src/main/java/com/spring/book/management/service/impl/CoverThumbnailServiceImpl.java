@@ -0,0 +1,155 @@
+package com.spring.book.management.service.impl;
+
+import com.spring.book.management.service.CoverImageService;
+import com.spring.book.management.service.CoverThumbnailService;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+// Bounded pool and queue, so upload bursts cannot grow the heap or take request threads.
+@Service
+public class CoverThumbnailServiceImpl implements CoverThumbnailService {
+    private static final Logger log = LoggerFactory.getLogger(CoverThumbnailServiceImpl.class);
+    private static final int SMALL_WIDTH = 120;
+    private static final int SMALL_HEIGHT = 180;
+    private static final int MEDIUM_WIDTH = 240;
+    private static final int MEDIUM_HEIGHT = 360;
+    // Checked against the header before decoding; file size says nothing about raster size.
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+
+    private final CoverImageService coverImageService;
+    private final ThreadPoolExecutor executor;
+
+    public CoverThumbnailServiceImpl(
+            CoverImageService coverImageService,
+            @Value("${book.covers.thumbnail-workers:2}") int workers,
+            @Value("${book.covers.thumbnail-queue-capacity:100}") int queueCapacity) {
+        this.coverImageService = coverImageService;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task,
+                            "cover-thumbnails-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public boolean enqueue(String coverImage, Consumer<CoverThumbnails> onGenerated) {
+        CoverImageService.StoredCover cover = coverImageService.findByUrl(coverImage);
+        if (cover == null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    onGenerated.accept(generate(cover));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to generate thumbnails for {}", coverImage, e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Thumbnail queue is full, skipping {}", coverImage);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CoverThumbnails generate(CoverImageService.StoredCover cover) {
+        BufferedImage original = decode(cover);
+        return new CoverThumbnails(
+                store(scale(original, SMALL_WIDTH, SMALL_HEIGHT)),
+                store(scale(original, MEDIUM_WIDTH, MEDIUM_HEIGHT)));
+    }
+
+    private static BufferedImage decode(CoverImageService.StoredCover cover) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(cover.path().toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalStateException("No image reader for " + cover.contentType());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IllegalStateException("Cover is " + width + "x" + height
+                            + " pixels, above the limit of " + MAX_SOURCE_PIXELS);
+                }
+                int subsampling = Math.max(1, Math.max(width / MEDIUM_WIDTH,
+                        height / MEDIUM_HEIGHT));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage original, int maxWidth, int maxHeight) {
+        double ratio = Math.min(1.0, Math.min(
+                (double) maxWidth / original.getWidth(),
+                (double) maxHeight / original.getHeight()));
+        int width = Math.max(1, (int) Math.round(original.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * ratio));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING,
+                    RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private String store(BufferedImage thumbnail) {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(thumbnail, "jpg", jpeg);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String fileName = coverImageService.store(
+                new ByteArrayInputStream(jpeg.toByteArray()), MediaType.IMAGE_JPEG);
+        return CoverImageService.url(fileName);
+    }
+}
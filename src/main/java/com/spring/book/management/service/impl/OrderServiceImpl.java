@@ -1,5 +1,6 @@
 package com.spring.book.management.service.impl;
 
+import com.spring.book.management.dto.order.OrderItemDto;
 import com.spring.book.management.dto.order.OrderRequestDto;
 import com.spring.book.management.dto.order.OrderResponseDto;
 import com.spring.book.management.exception.OrderItemNotFoundException;
@@ -12,33 +13,46 @@ import com.spring.book.management.model.OrderItem;
 import com.spring.book.management.model.ShoppingCart;
 import com.spring.book.management.model.Status;
 import com.spring.book.management.model.User;
+import com.spring.book.management.repository.order.OrderItemRow;
 import com.spring.book.management.repository.order.OrderRepository;
+import com.spring.book.management.repository.order.OrderRow;
 import com.spring.book.management.repository.shoppingcart.ShoppingCartRepository;
+import com.spring.book.management.search.BookSuggestionIndex;
 import com.spring.book.management.service.OrderService;
 import com.spring.book.management.service.UserService;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 public class OrderServiceImpl implements OrderService {
+    private static final int STREAM_WINDOW_SIZE = 500;
 
     private final OrderRepository orderRepository;
     private final ShoppingCartRepository shoppingCartRepository;
     private final UserService userService;
     private final OrderMapper orderMapper;
+    private final BookSuggestionIndex bookSuggestionIndex;
 
     public OrderServiceImpl(OrderRepository orderRepository,
                             ShoppingCartRepository shoppingCartRepository,
                             UserService userService,
-                            OrderMapper orderMapper) {
+                            OrderMapper orderMapper,
+                            BookSuggestionIndex bookSuggestionIndex) {
         this.orderRepository = orderRepository;
         this.shoppingCartRepository = shoppingCartRepository;
         this.userService = userService;
         this.orderMapper = orderMapper;
+        this.bookSuggestionIndex = bookSuggestionIndex;
     }
 
     @Override
@@ -76,6 +90,15 @@ public class OrderServiceImpl implements OrderService {
 
         order.setTotal(total);
         orderRepository.save(order);
+        List<OrderItem> orderItems = List.copyOf(order.getOrderItems());
+        // A rolled back order must not count as sales.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderItems.forEach(orderItem -> bookSuggestionIndex.recordSale(
+                        orderItem.getBook().getId(), orderItem.getQuantity()));
+            }
+        });
 
         shoppingCart.getCartItems().clear();
         shoppingCartRepository.save(shoppingCart);
@@ -90,6 +113,13 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toDtoList(orders);
     }
 
+    @Override
+    public Stream<OrderResponseDto> streamAll() {
+        Long userId = userService.getCurrentUser().getId();
+        return Stream.of(userId).flatMap(id -> StreamWindows.map(
+                orderRepository.streamRowsByUserId(id), STREAM_WINDOW_SIZE, this::withItems));
+    }
+
     @Override
     public OrderResponseDto updateOrderStatus(Long orderId, Status newStatus) {
         Order order = orderRepository.findById(orderId)
@@ -105,4 +135,20 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new OrderItemNotFoundException(orderId));
         return orderMapper.toDto(order);
     }
+
+    private List<OrderResponseDto> withItems(List<OrderRow> rows) {
+        Map<Long, List<OrderItemDto>> items = orderRepository.findItemRows(rows.stream()
+                        .map(OrderRow::id)
+                        .toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemRow::getOrderId, Collectors.mapping(
+                        item -> new OrderItemDto(item.getId(), item.getBookId(),
+                                item.getQuantity()),
+                        Collectors.toList())));
+        return rows.stream()
+                .map(row -> new OrderResponseDto(row.id(), row.userId(),
+                        items.getOrDefault(row.id(), new ArrayList<>()), row.orderDate(),
+                        row.total(), row.status()))
+                .toList();
+    }
 }
@@ -0,0 +1,44 @@
+package com.spring.book.management.service.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class StreamWindows {
+    private StreamWindows() {
+    }
+
+    static <T, R> Stream<R> map(Stream<T> source,
+                                int windowSize,
+                                Function<List<T>, List<R>> mapper) {
+        Iterator<T> iterator = source.iterator();
+        Iterator<List<R>> windows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<R> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> window = new ArrayList<>(windowSize);
+                while (window.size() < windowSize && iterator.hasNext()) {
+                    window.add(iterator.next());
+                }
+                return mapper.apply(window);
+            }
+        };
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(windows, Spliterator.ORDERED), false)
+                .flatMap(List::stream)
+                .onClose(source::close);
+    }
+}
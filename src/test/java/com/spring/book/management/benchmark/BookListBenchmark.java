@@ -0,0 +1,110 @@
+package com.spring.book.management.benchmark;
+
+import com.spring.book.management.BookManagementApplication;
+import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.mapper.BookMapper;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.service.impl.BookDtoAssembler;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One page of {@code GET /api/books} loaded as managed entities and mapped, against the same
+ * page selected straight into DTO rows. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BookListBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookListBenchmark {
+    private static final int SEEDED_BOOKS = 5_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private BookMapper bookMapper;
+    private BookDtoAssembler bookDtoAssembler;
+    private TransactionTemplate readOnly;
+    private long request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BookManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.docker.compose.enabled=false",
+                        "spring.liquibase.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        bookMapper = context.getBean(BookMapper.class);
+        bookDtoAssembler = context.getBean(BookDtoAssembler.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Book> books = new ArrayList<>();
+        for (long i = bookRepository.count(); i < SEEDED_BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Title " + i);
+            book.setAuthor("Author " + i % 100);
+            book.setIsbn("BENCH-LIST-" + i);
+            book.setPrice(BigDecimal.valueOf(i % 200));
+            books.add(book);
+        }
+        bookRepository.saveAll(books);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookDto> entities() {
+        PageRequest page = nextPage();
+        return readOnly.execute(status -> bookRepository.findAll(page)
+                .map(bookMapper::toDto)
+                .getContent());
+    }
+
+    @Benchmark
+    public List<BookDto> projections() {
+        PageRequest page = nextPage();
+        return readOnly.execute(status -> bookDtoAssembler.withCategoryIds(
+                bookRepository.findRows(null, page.getSort(), page.getOffset(), pageSize)));
+    }
+
+    private PageRequest nextPage() {
+        int pages = SEEDED_BOOKS / pageSize;
+        return PageRequest.of((int) (request++ % pages), pageSize, Sort.by("id"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.spring.book.management.benchmark;
+
+import com.spring.book.management.BookManagementApplication;
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.model.Book;
+import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.repository.book.BookSearchQuery;
+import com.spring.book.management.repository.book.BookSpecificationBuilder;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Per-request cost of a filtered search: {@code criteria} runs the specification, which
+ * Hibernate translates to SQL on every request, {@code jpql} runs the per-shape query string
+ * that hits the query plan cache. {@code build} isolates building the filter itself. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BookSearchBenchmark}; the gc
+ * profiler reports allocation per operation next to the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSearchBenchmark {
+    private static final Sort SORT = Sort.by("id");
+
+    @Param({"criteria", "jpql"})
+    public String configuration;
+
+    private ConfigurableApplicationContext context;
+    private BookSpecificationBuilder bookSpecificationBuilder;
+    private BookRepository bookRepository;
+    private long request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BookManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.docker.compose.enabled=false",
+                        "spring.liquibase.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        bookSpecificationBuilder = context.getBean(BookSpecificationBuilder.class);
+        bookRepository = context.getBean(BookRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookDtoWithoutCategoryIds> search() {
+        if ("jpql".equals(configuration)) {
+            BookSearchQuery query = bookSpecificationBuilder.buildQuery(nextParameters());
+            return bookRepository.searchRows(query, SORT, 0, 20);
+        }
+        Specification<Book> spec = bookSpecificationBuilder.build(nextParameters());
+        return bookRepository.findRows(spec, SORT, 0, 20);
+    }
+
+    @Benchmark
+    public Object build() {
+        return "jpql".equals(configuration)
+                ? bookSpecificationBuilder.buildQuery(nextParameters())
+                : bookSpecificationBuilder.build(nextParameters());
+    }
+
+    private BookSearchParametersDto nextParameters() {
+        request++;
+        return new BookSearchParametersDto(
+                null,
+                new String[]{"Author " + request % 100, "Author " + (request + 1) % 100},
+                null,
+                BigDecimal.valueOf(request % 50),
+                BigDecimal.valueOf(request % 50 + 25),
+                new Long[]{request % 10});
+    }
+}
@@ -0,0 +1,149 @@
+package com.spring.book.management.benchmark;
+
+import com.spring.book.management.BookManagementApplication;
+import com.spring.book.management.model.Role;
+import com.spring.book.management.model.User;
+import com.spring.book.management.repository.role.RoleRepository;
+import com.spring.book.management.repository.user.UserRepository;
+import com.spring.book.management.security.JwtUtil;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Throughput of {@code GET /api/orders} under 400 concurrent clients with request handling on
+ * Tomcat's platform threads and on virtual threads (the {@code virtual-threads} profile, which
+ * needs a Java 21 runtime). Every connection checkout waits a few milliseconds to stand in for
+ * a remote database, and both modes get the same Hikari pool, so with a Tomcat cap below the
+ * pool size only the threading model differs. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=VirtualThreadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(400)
+public class VirtualThreadBenchmark {
+    private static final long DATABASE_LATENCY_MILLIS = 5;
+    private static final int POOL_SIZE = 40;
+    private static final String EMAIL = "benchmark@example.com";
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"20", "200"})
+    public int tomcatMaxThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(
+                BookManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.docker.compose.enabled=false",
+                        "spring.liquibase.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "server.tomcat.threads.max=" + tomcatMaxThreads,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)
+                .initializers(application -> application.getBeanFactory()
+                        .addBeanPostProcessor(new SlowDatabase()));
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+        context = builder.run();
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + createUserToken())
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listOrders() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String createUserToken() {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        Role role = roleRepository.findByName(Role.RoleName.USER).orElseGet(() -> {
+            Role userRole = new Role();
+            userRole.setName(Role.RoleName.USER);
+            return roleRepository.save(userRole);
+        });
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User user = userRepository.findByEmail(EMAIL).orElseGet(() -> {
+            User created = new User();
+            created.setEmail(EMAIL);
+            created.setPassword("benchmark");
+            created.setFirstName("Bench");
+            created.setLastName("Mark");
+            created.setRoles(Set.of(role));
+            return userRepository.save(created);
+        });
+        return context.getBean(JwtUtil.class).generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static final class SlowDatabase implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    try {
+                        Thread.sleep(DATABASE_LATENCY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return connection;
+                }
+            };
+        }
+    }
+}
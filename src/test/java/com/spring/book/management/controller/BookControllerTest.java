@@ -1,21 +1,43 @@
 package com.spring.book.management.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.book.management.dto.book.BookBatchDto;
 import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.dto.book.BookFacetCountDto;
+import com.spring.book.management.dto.book.BookFacetsDto;
+import com.spring.book.management.dto.book.BookFuzzySearchResultDto;
+import com.spring.book.management.dto.book.BookImportResultDto;
+import com.spring.book.management.dto.book.BookSuggestionDto;
 import com.spring.book.management.dto.book.CreateBookRequestDto;
+import com.spring.book.management.search.BookFacetIndex;
+import com.spring.book.management.search.BookFuzzyIndex;
+import com.spring.book.management.search.BookSuggestionIndex;
+import com.spring.book.management.search.BookTextIndex;
+import com.spring.book.management.service.CoverImageService;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import javax.imageio.ImageIO;
 import javax.sql.DataSource;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,7 +45,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,11 +71,19 @@ class BookControllerTest {
     }
 
     @BeforeEach
-    void setupDatabase(@Autowired DataSource dataSource) {
+    void setupDatabase(@Autowired DataSource dataSource,
+                       @Autowired BookTextIndex bookTextIndex,
+                       @Autowired BookSuggestionIndex bookSuggestionIndex,
+                       @Autowired BookFacetIndex bookFacetIndex,
+                       @Autowired BookFuzzyIndex bookFuzzyIndex) {
         executeSqlScripts(dataSource,
                 "database/book/remove-all-books.sql",
                 "database/book/add-default-books.sql"
         );
+        bookTextIndex.rebuild();
+        bookSuggestionIndex.rebuild();
+        bookFacetIndex.rebuild();
+        bookFuzzyIndex.rebuild();
     }
 
     @AfterAll
@@ -88,6 +120,44 @@ class BookControllerTest {
         assertThat(books).hasSizeGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findAllBooks_WithCursor_ReturnsNextPage() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/books")
+                        .param("size", "1")
+                        .param("sort", "id")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader(BookController.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotNull();
+
+        MvcResult secondPage = mockMvc.perform(get("/api/books")
+                        .param("size", "1")
+                        .param("sort", "id")
+                        .param("after", cursor)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<BookDto> books = objectMapper.readValue(
+                secondPage.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+
+        assertThat(books).hasSize(1);
+        assertThat(books.get(0).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findAllBooks_MalformedCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/books")
+                        .param("after", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void findAllBooks_Unauthenticated_ReturnsForbidden() throws Exception {
         mockMvc.perform(get("/api/books")
@@ -108,6 +178,112 @@ class BookControllerTest {
         assertThat(book.getIsbn()).isEqualTo("ISBN");
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findBookById_MatchingETag_ReturnsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        MvcResult notModified = mockMvc.perform(get("/api/books/2")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(notModified.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void uploadCover_ServesStoredBytesWithRangesAndETag() throws Exception {
+        byte[] image = "not really a png, but bytes all the same".getBytes(StandardCharsets.UTF_8);
+        MvcResult upload = mockMvc.perform(put("/api/books/3/cover")
+                        .content(image)
+                        .contentType(MediaType.IMAGE_PNG))
+                .andExpect(status().isOk())
+                .andReturn();
+        BookDto book = objectMapper.readValue(
+                upload.getResponse().getContentAsString(), BookDto.class);
+        assertThat(book.getCoverImage()).startsWith(CoverImageService.URL_PATH).endsWith(".png");
+
+        MvcResult full = mockMvc.perform(get(book.getCoverImage()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(full.getResponse().getContentAsByteArray()).isEqualTo(image);
+        assertThat(full.getResponse().getContentType()).isEqualTo(MediaType.IMAGE_PNG_VALUE);
+        assertThat(full.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        String eTag = full.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        MvcResult partial = mockMvc.perform(get(book.getCoverImage())
+                        .header(HttpHeaders.RANGE, "bytes=4-9"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+        assertThat(partial.getResponse().getContentAsString()).isEqualTo("really");
+        assertThat(partial.getResponse().getHeader(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes 4-9/" + image.length);
+
+        mockMvc.perform(get(book.getCoverImage())
+                        .header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+        mockMvc.perform(get(book.getCoverImage())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void uploadCover_GeneratesThumbnailsInBackground() throws Exception {
+        BufferedImage image = new BufferedImage(600, 900, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        mockMvc.perform(put("/api/books/2/cover")
+                        .content(png.toByteArray())
+                        .contentType(MediaType.IMAGE_PNG))
+                .andExpect(status().isOk());
+
+        // Polled on the test thread, which carries the mock user.
+        BookDto book = Awaitility.await().pollInSameThread().atMost(Duration.ofSeconds(10)).until(
+                () -> objectMapper.readValue(mockMvc.perform(get("/api/books/2"))
+                        .andReturn().getResponse().getContentAsString(), BookDto.class),
+                found -> found.getCoverThumbnailMedium() != null);
+        assertThat(book.getCoverThumbnailSmall()).startsWith(CoverImageService.URL_PATH);
+
+        MvcResult thumbnail = mockMvc.perform(get(book.getCoverThumbnailSmall()))
+                .andExpect(status().isOk())
+                .andReturn();
+        BufferedImage small = ImageIO.read(
+                new ByteArrayInputStream(thumbnail.getResponse().getContentAsByteArray()));
+        assertThat(small.getWidth()).isEqualTo(120);
+        assertThat(small.getHeight()).isEqualTo(180);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findBooksByIds_ReturnsBooksInRequestOrderAndMissingIds() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/batch")
+                        .param("ids", "3", "9999", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookBatchDto batch = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookBatchDto.class);
+        assertThat(batch.books()).extracting(BookDto::getId).containsExactly(3L, 2L);
+        assertThat(batch.missingIds()).containsExactly(9999L);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findBooksByIds_BlankId_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/books/batch")
+                        .param("ids", "2,,3"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void findBookById_NonExistentId_ReturnsNotFound() throws Exception {
@@ -169,6 +345,106 @@ class BookControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void importBooks_Csv_ImportsValidRowsAndReportsRejected() throws Exception {
+        String csv = """
+                title,author,isbn,price
+                "Imported, One",Author,ISBN-10,9.99
+                Duplicate,Author,ISBN,5.00
+                Malformed,Author,ISBN-12,abc
+                """;
+
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(csv)
+                        .contentType(BookController.CSV))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookImportResultDto report = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(error -> error.line())
+                .containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void importBooks_NdjsonNullLine_RejectsLineAndImportsTheRest() throws Exception {
+        String ndjson = """
+                {"title":"First","author":"Author","isbn":"ISBN-20","price":9.99}
+                null
+                {"title":"Second","author":"Author","isbn":"ISBN-21","price":5.00}
+                """;
+
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(ndjson)
+                        .contentType(BookController.NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookImportResultDto report = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportResultDto.class);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors()).singleElement()
+                .satisfies(error -> {
+                    assertThat(error.line()).isEqualTo(2L);
+                    assertThat(error.message()).isEqualTo("Expected a JSON object");
+                });
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void exportBooks_Csv_StreamsEveryBook() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/books/export")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString().split("\n"))
+                .containsExactly(
+                        "id,title,author,isbn,price,description,coverImage,categoryIds",
+                        "2,test1,test,ISBN,1.00,test,,",
+                        "3,test2,test,ISBN2,1.00,test,,");
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void exportBooks_Ndjson_StreamsOneLinePerBook() throws Exception {
+        assertThat(exportNdjson().split("\n", -1))
+                .hasSize(3)
+                .endsWith("");
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void exportBooks_NdjsonEmptyCatalog_WritesNothing(@Autowired DataSource dataSource)
+            throws Exception {
+        executeSqlScripts(dataSource, "database/book/remove-all-books.sql");
+
+        assertThat(exportNdjson()).isEmpty();
+    }
+
+    private String exportNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void updateBook_ReturnsUpdatedBook() throws Exception {
@@ -207,6 +483,22 @@ class BookControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void deleteBookById_VersionedBook_SoftDeletesRow(@Autowired DataSource dataSource)
+            throws Exception {
+        mockMvc.perform(delete("/api/books/3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Boolean deleted = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT is_deleted FROM books WHERE id = 3", Boolean.class);
+        assertThat(deleted).isTrue();
+        mockMvc.perform(get("/api/books/3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void deleteBookById_NonExistentId_ReturnsNotFound() throws Exception {
@@ -234,6 +526,26 @@ class BookControllerTest {
         assertThat(resultList.get(0).getTitle()).contains("test2");
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_Ndjson_StreamsEveryMatchInOrder() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/books/search")
+                        .param("authors", "test")
+                        .accept(BookController.NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            ids.add(objectMapper.readValue(line, BookDto.class).getId());
+        }
+        assertThat(ids).containsExactly(2L, 3L);
+    }
+
     @Test
     @WithMockUser(roles = {"USER"})
     void searchBooks_ByTitleAndAuthor_ReturnsCorrectBooks() throws Exception {
@@ -255,6 +567,164 @@ class BookControllerTest {
         assertThat(books.get(0).getAuthor()).containsIgnoringCase("test");
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_ByPriceRange_ReturnsBooksWithinRange() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("minPrice", "0.50")
+                        .param("maxPrice", "1.50")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<BookDto> books = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+        assertThat(books).extracting(BookDto::getId).containsExactly(2L, 3L);
+
+        MvcResult belowRange = mockMvc.perform(get("/api/books/search")
+                        .param("maxPrice", "0.50")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(belowRange.getResponse().getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_FuzzyMisspelledTitle_ReturnsCorrectedMatch() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("q", "tset2")
+                        .param("fuzzy", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookFuzzySearchResultDto fuzzyResult = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookFuzzySearchResultDto.class);
+
+        assertThat(fuzzyResult.didYouMean()).isEqualTo("test2");
+        assertThat(fuzzyResult.books()).extracting(BookDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchFacets_ByAuthor_CountsMatchingBooks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/search/facets")
+                        .param("authors", "TEST")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BookFacetsDto facets = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookFacetsDto.class);
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.authors()).containsExactly(new BookFacetCountDto("test", 2));
+        assertThat(facets.prices().get(0)).isEqualTo(new BookFacetCountDto("0-10", 2));
+        assertThat(facets.categories()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchFacets_AfterRebuildWithCategories_CountsCategories(
+            @Autowired DataSource dataSource,
+            @Autowired BookFacetIndex bookFacetIndex) throws Exception {
+        executeSqlScripts(dataSource,
+                "database/category/add-default-categories-and-combined-with-book.sql",
+                "database/category/add-second-book-to-category.sql"
+        );
+        try {
+            bookFacetIndex.rebuild();
+
+            MvcResult result = mockMvc.perform(get("/api/books/search/facets")
+                            .param("categoryIds", "2")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            BookFacetsDto facets = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), BookFacetsDto.class);
+
+            assertThat(facets.total()).isEqualTo(2);
+            assertThat(facets.categories()).containsExactly(new BookFacetCountDto("2", 2));
+        } finally {
+            executeSqlScripts(dataSource,
+                    "database/category/remove-combined-book-and-category.sql",
+                    "database/category/remove-all-category.sql"
+            );
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_WithCursor_ReturnsNextPage() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/books/search")
+                        .param("authors", "test")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader(BookController.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotNull();
+
+        MvcResult secondPage = mockMvc.perform(get("/api/books/search")
+                        .param("authors", "test")
+                        .param("size", "1")
+                        .param("after", cursor)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<BookDto> books = objectMapper.readValue(
+                secondPage.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+
+        assertThat(books).hasSize(1);
+        assertThat(books.get(0).getId()).isEqualTo(3L);
+        assertThat(secondPage.getResponse().getHeader(BookController.NEXT_CURSOR_HEADER))
+                .isNull();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_FullTextQuery_ReturnsMatch() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/search")
+                        .param("q", "TEST2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<BookDto> books = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                }
+        );
+
+        assertThat(books).extracting(BookDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void suggestBooks_ByPrefix_ReturnsTitlesAndAuthor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/suggest")
+                        .param("prefix", "Tes")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<BookSuggestionDto> suggestions = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                }
+        );
+
+        assertThat(suggestions).extracting(BookSuggestionDto::text)
+                .containsExactly("test", "test1", "test2");
+    }
+
     private CreateBookRequestDto createBookRequestDto() {
         CreateBookRequestDto dto = new CreateBookRequestDto(
                 "NewTest",
@@ -0,0 +1,134 @@
+package com.spring.book.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.spring.book.management.cache.BookDtoCache;
+import com.spring.book.management.cache.CategorySnapshotCache;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookQueryCountTest {
+    private static MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    static void setUp(@Autowired DataSource dataSource, @Autowired WebApplicationContext context) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        executeSqlScripts(dataSource,
+                "database/book/add-default-books.sql",
+                "database/category/add-default-categories-and-combined-with-book.sql",
+                "database/category/add-second-book-to-category.sql"
+        );
+        context.getBean(CategorySnapshotCache.class).refresh();
+    }
+
+    @AfterAll
+    static void tearDown(@Autowired DataSource dataSource) {
+        executeSqlScripts(dataSource,
+                "database/category/remove-combined-book-and-category.sql",
+                "database/book/remove-all-books.sql",
+                "database/category/remove-all-category.sql"
+        );
+    }
+
+    private static void executeSqlScripts(DataSource dataSource, String... scriptPaths) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            for (String path : scriptPaths) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource(path));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to execute SQL scripts", e);
+        }
+    }
+
+    @BeforeEach
+    void resetStatistics(@Autowired EntityManagerFactory entityManagerFactory) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findAllBooks_LoadsCategoriesInOneBatch() throws Exception {
+        assertThat(countStatements(get("/api/books"))).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_LoadsCategoriesInOneBatch() throws Exception {
+        assertThat(countStatements(get("/api/books/search").param("authors", "test")))
+                .isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void searchBooks_SameShape_ReusesQueryPlan() throws Exception {
+        // Neither author exists, so the search query is the only statement either request runs.
+        assertThat(countStatements(get("/api/books/search").param("authors", "Nobody A")))
+                .isEqualTo(1);
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long misses = statistics.getQueryPlanCacheMissCount();
+
+        assertThat(countStatements(get("/api/books/search").param("authors", "Nobody B")))
+                .isEqualTo(2);
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(hits);
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void getBooksByCategory_DoesNotLoadCategoriesPerBook() throws Exception {
+        assertThat(countStatements(get("/api/categories/2/books"))).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findBooksByIds_LoadsBooksAndCategoriesInTwoQueries(
+            @Autowired BookDtoCache bookDtoCache) throws Exception {
+        // The context is shared with other test classes, which may have cached these books.
+        List.of(2L, 3L, 4L).forEach(bookDtoCache::onBookDeleted);
+
+        assertThat(countStatements(get("/api/books/batch").param("ids", "2", "3", "4")))
+                .isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findAllCategories_ServedFromSnapshot() throws Exception {
+        assertThat(countStatements(get("/api/categories"))).isZero();
+        assertThat(countStatements(get("/api/categories/2"))).isZero();
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -2,14 +2,17 @@ package com.spring.book.management.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.book.management.cache.CategorySnapshotCache;
 import com.spring.book.management.dto.CategoryDto;
 import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
 import java.sql.Connection;
@@ -22,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,6 +51,7 @@ public class CategoryControllerTest {
                 "database/book/add-default-books.sql",
                 "database/category/add-default-categories-and-combined-with-book.sql"
         );
+        context.getBean(CategorySnapshotCache.class).refresh();
     }
 
     @AfterAll
@@ -83,6 +88,27 @@ public class CategoryControllerTest {
                 });
 
         assertThat(categories).isNotEmpty();
+        assertThat(categories).allMatch(category -> category.bookCount() == null);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void findAllCategories_WithBookCounts_ReturnsCounts() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/categories")
+                        .param("withBookCounts", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<CategoryDto> categories = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+
+        assertThat(categories).filteredOn(category -> category.id().equals(2L))
+                .singleElement()
+                .extracting(CategoryDto::bookCount)
+                .isEqualTo(1L);
     }
 
     @Test
@@ -202,6 +228,30 @@ public class CategoryControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    void deleteCategory_VersionedCategory_SoftDeletesRow(@Autowired DataSource dataSource)
+            throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/categories")
+                        .content(objectMapper.writeValueAsString(createCategoryDto()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long id = objectMapper.readValue(
+                created.getResponse().getContentAsString(), CategoryDto.class).id();
+
+        mockMvc.perform(delete("/api/categories/" + id)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Boolean deleted = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT is_deleted FROM categories WHERE id = ?", Boolean.class, id);
+        assertThat(deleted).isTrue();
+        mockMvc.perform(get("/api/categories/" + id)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     void deleteCategory_NonExistentId_ReturnsNotFound() throws Exception {
@@ -227,6 +277,44 @@ public class CategoryControllerTest {
         assertThat(books.get(0).title()).isNotBlank();
     }
 
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void getBooksByCategoryId_NonExistentId_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/categories/999/books")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void getBooksByCategoryId_Ndjson_StreamsOneBookPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/categories/2/books")
+                        .accept(BookController.NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(BookController.NDJSON);
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).isNotEmpty();
+        for (String line : lines) {
+            BookDtoWithoutCategoryIds book =
+                    objectMapper.readValue(line, BookDtoWithoutCategoryIds.class);
+            assertThat(book.title()).isNotBlank();
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    void getBooksByCategoryId_NdjsonNonExistentId_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/categories/999/books")
+                        .accept(BookController.NDJSON))
+                .andExpect(status().isNotFound());
+    }
+
     private CategoryDto createCategoryDto() {
         return new CategoryDto(null, "Test", "Test");
     }
@@ -5,24 +5,46 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.spring.book.management.cache.BookCountCache;
+import com.spring.book.management.cache.BookDtoCache;
+import com.spring.book.management.cache.BookIsbnFilter;
+import com.spring.book.management.cache.BookSearchCache;
+import com.spring.book.management.cache.CategoryBookCountCache;
+import com.spring.book.management.dto.book.BookBatchDto;
 import com.spring.book.management.dto.book.BookDto;
+import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
 import com.spring.book.management.dto.book.BookSearchParametersDto;
+import com.spring.book.management.dto.book.BookSliceDto;
 import com.spring.book.management.dto.book.CreateBookRequestDto;
 import com.spring.book.management.exception.BookNotFoundException;
+import com.spring.book.management.exception.InvalidBatchRequestException;
 import com.spring.book.management.mapper.BookMapper;
 import com.spring.book.management.model.Book;
 import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.book.BookKeysetCursor;
 import com.spring.book.management.repository.book.BookRepository;
+import com.spring.book.management.repository.book.BookSearchQuery;
 import com.spring.book.management.repository.book.BookSpecificationBuilder;
 import com.spring.book.management.repository.category.CategoryRepository;
+import com.spring.book.management.search.BookFacetIndex;
+import com.spring.book.management.search.BookFuzzyIndex;
+import com.spring.book.management.search.BookSuggestionIndex;
+import com.spring.book.management.search.BookTextIndex;
+import com.spring.book.management.service.CoverThumbnailService;
+import com.spring.book.management.service.impl.BookDtoAssembler;
 import com.spring.book.management.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -32,11 +54,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class BookServiceTest {
@@ -48,6 +72,34 @@ class BookServiceTest {
     private BookMapper bookMapper;
     @Mock
     private BookSpecificationBuilder bookSpecificationBuilder;
+    @Spy
+    private BookKeysetCursor bookKeysetCursor = new BookKeysetCursor();
+    @Mock
+    private BookCountCache bookCountCache;
+    @Mock
+    private BookTextIndex bookTextIndex;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+    @Mock
+    private BookSearchCache bookSearchCache;
+    @Spy
+    private BookDtoCache bookDtoCache = new BookDtoCache(100);
+    @Spy
+    private BookIsbnFilter bookIsbnFilter = new BookIsbnFilter(null);
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+    @Mock
+    private BookFuzzyIndex bookFuzzyIndex;
+    @Mock
+    private BookDtoAssembler bookDtoAssembler;
+    @Mock
+    private CategoryBookCountCache categoryBookCountCache;
+    @Mock
+    private CoverThumbnailService coverThumbnailService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private List<BookChangeListener> bookChangeListeners = new ArrayList<>();
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -111,6 +163,21 @@ class BookServiceTest {
         verify(categoryRepository, times(0)).findAllById(any());
     }
 
+    @Test
+    @DisplayName("Skips the ISBN query when the filter rules the ISBN out")
+    void save_IsbnDefinitelyNew_SkipsExistsQuery() {
+        dto.setCategoryIds(null);
+
+        doReturn(false).when(bookIsbnFilter).mightContain(dto.getIsbn());
+        when(bookMapper.toModel(dto)).thenReturn(book);
+        when(bookRepository.save(book)).thenReturn(savedBook);
+        when(bookMapper.toDto(savedBook)).thenReturn(bookDto);
+
+        bookService.save(dto);
+
+        verify(bookRepository, times(0)).existsByIsbn(any());
+    }
+
     @Test
     @DisplayName("Returns BookDto if a book with the given ID exists")
     void findById_ExistingId_ReturnsBookDto() {
@@ -134,17 +201,97 @@ class BookServiceTest {
     }
 
     @Test
-    @DisplayName("Returns a list of BookDto for the given page request")
-    void findAll_ValidPageable_ReturnsListOfBookDto() {
-        Pageable pageable = PageRequest.of(0, 10);
+    @DisplayName("Serves a repeated lookup from the cache until the book changes")
+    void findById_RepeatedLookup_LoadsOnceUntilInvalidated() {
+        book.setId(1L);
 
-        when(bookRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(book)));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
         when(bookMapper.toDto(book)).thenReturn(bookDto);
 
-        List<BookDto> result = bookService.findAll(pageable);
+        bookService.findById(1L);
+        bookService.findById(1L);
+        verify(bookRepository, times(1)).findById(1L);
+
+        bookDtoCache.onBookSaved(book, false);
+        bookService.findById(1L);
+        verify(bookRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Returns cached and loaded books in request order and reports missing ids")
+    void findAllById_MixedIds_PreservesOrderAndReportsMissing() {
+        BookDto cached = new BookDto();
+        cached.setId(3L);
+        bookDtoCache.get(3L, id -> cached);
+        BookDto loaded = new BookDto();
+        loaded.setId(1L);
+        List<BookDtoWithoutCategoryIds> rows = List.of(row(1L));
+
+        when(bookRepository.findRows(any(Specification.class), eq(Sort.by("id")), eq(0L), eq(2)))
+                .thenReturn(rows);
+        when(bookDtoAssembler.withCategoryIds(rows)).thenReturn(List.of(loaded));
+
+        BookBatchDto result = bookService.findAllById(List.of(3L, 7L, 1L, 3L));
+
+        assertThat(result.books()).containsExactly(cached, loaded);
+        assertThat(result.missingIds()).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Rejects batches larger than the limit without querying")
+    void findAllById_TooManyIds_ThrowsException() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 101; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(InvalidBatchRequestException.class, () -> bookService.findAllById(ids));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Rejects a batch with a blank id without querying")
+    void findAllById_NullId_ThrowsException() {
+        List<Long> ids = Arrays.asList(2L, null, 3L);
+
+        assertThrows(InvalidBatchRequestException.class, () -> bookService.findAllById(ids));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Returns a slice of BookDto for the given page request without counting")
+    void findAll_ValidPageable_ReturnsListOfBookDto() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        List<BookDtoWithoutCategoryIds> rows = List.of(row(1L));
+
+        when(bookRepository.findRows(null, Sort.by("id"), 0, 11)).thenReturn(rows);
+        when(bookDtoAssembler.withCategoryIds(rows)).thenReturn(List.of(bookDto));
+
+        BookSliceDto result = bookService.findAll(pageable, false);
+
+        assertEquals(1, result.content().size());
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.totalCount()).isNull();
+        verify(bookRepository).findRows(null, Sort.by("id"), 0, 11);
+        verify(bookRepository, times(0)).count();
+    }
+
+    @Test
+    @DisplayName("Returns a cursor to the next page and the cached total when requested")
+    void findAll_HasNextWithTotal_ReturnsCursorAndTotal() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("id"));
+        BookDtoWithoutCategoryIds first = row(5L);
+
+        when(bookRepository.findRows(null, Sort.by("id"), 0, 2))
+                .thenReturn(List.of(first, row(6L)));
+        when(bookDtoAssembler.withCategoryIds(List.of(first))).thenReturn(List.of(bookDto));
+        when(bookCountCache.get()).thenReturn(42L);
 
-        assertEquals(1, result.size());
-        verify(bookRepository).findAll(pageable);
+        BookSliceDto result = bookService.findAll(pageable, true);
+
+        assertThat(result.content()).containsExactly(bookDto);
+        assertThat(result.nextCursor()).isEqualTo(bookKeysetCursor.encode(first, Sort.by("id")));
+        assertThat(result.totalCount()).isEqualTo(42L);
     }
 
     @Test
@@ -185,24 +332,111 @@ class BookServiceTest {
     }
 
     @Test
-    @DisplayName("Returns a list of books matching the search parameters")
+    @DisplayName("Returns a slice of books matching the search parameters")
     void search_ValidParameters_ReturnsMatchingBookDto() {
         BookSearchParametersDto params = new BookSearchParametersDto(
                 new String[]{"test1", "test2"},
                 new String[]{"test1"},
-                new String[]{"1"});
-        Specification<Book> specification = (root, query, cb) -> null;
+                new String[]{"1"},
+                null, null, null);
+        BookSearchQuery query = BookSearchQuery.ALL;
+        List<BookDtoWithoutCategoryIds> rows = List.of(row(1L));
 
-        when(bookSpecificationBuilder.build(params)).thenReturn(specification);
-        when(bookRepository.findAll(specification)).thenReturn(List.of(book));
-        when(bookMapper.toDto(book)).thenReturn(bookDto);
+        when(bookSpecificationBuilder.buildQuery(params)).thenReturn(query);
+        when(bookRepository.searchRows(query, Sort.by("id"), 0, 11)).thenReturn(rows);
+        when(bookDtoAssembler.withCategoryIds(rows)).thenReturn(List.of(bookDto));
+
+        BookSliceDto result = bookService.search(params, null, PageRequest.of(0, 10));
+
+        assertEquals(1, result.content().size());
+        assertThat(result.nextCursor()).isNull();
+        verify(bookSpecificationBuilder).buildQuery(params);
+    }
+
+    @Test
+    @DisplayName("Returns a next cursor when more search results exist than the page size")
+    void search_MoreResultsThanPageSize_ReturnsNextCursor() {
+        BookSearchParametersDto params = new BookSearchParametersDto(
+                null, null, null, null, null, null);
+        BookSearchQuery query = BookSearchQuery.ALL;
+        BookDtoWithoutCategoryIds first = row(1L);
+
+        when(bookSpecificationBuilder.buildQuery(params)).thenReturn(query);
+        when(bookRepository.searchRows(query, Sort.by("id"), 0, 2))
+                .thenReturn(List.of(first, row(2L)));
+        when(bookDtoAssembler.withCategoryIds(List.of(first))).thenReturn(List.of(bookDto));
 
-        List<BookDto> result = bookService.search(params);
+        BookSliceDto result = bookService.search(params, null, PageRequest.of(0, 1));
 
-        assertEquals(1, result.size());
-        verify(bookSpecificationBuilder).build(params);
-        verify(bookRepository).findAll(specification);
-        verify(bookMapper).toDto(book);
+        assertThat(result.content()).containsExactly(bookDto);
+        assertThat(result.nextCursor())
+                .isEqualTo(bookKeysetCursor.encode(first, Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("Returns full-text matches in ranked order")
+    void fullTextSearch_RankedIds_ReturnsBooksInRankOrder() {
+        Book first = new Book();
+        first.setId(3L);
+        Book second = new Book();
+        second.setId(2L);
+        BookDto firstDto = new BookDto();
+        firstDto.setId(3L);
+        BookDto secondDto = new BookDto();
+        secondDto.setId(2L);
+
+        when(bookTextIndex.search("query", 10)).thenReturn(List.of(3L, 2L));
+        when(bookRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(second, first));
+        when(bookMapper.toDto(first)).thenReturn(firstDto);
+        when(bookMapper.toDto(second)).thenReturn(secondDto);
+
+        List<BookDto> result = bookService.fullTextSearch("query", 10);
+
+        assertThat(result).extracting(BookDto::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Serves a repeated search page from the cached book ids")
+    void search_CachedParameters_SkipsDatabaseQuery() {
+        BookSearchParametersDto params = new BookSearchParametersDto(
+                new String[]{"test1"}, null, null, null, null, null);
+        book.setId(1L);
+
+        List<BookDtoWithoutCategoryIds> rows = List.of(row(1L));
+
+        when(bookSpecificationBuilder.buildQuery(params)).thenReturn(BookSearchQuery.ALL);
+        when(bookSearchCache.get(eq(params), any())).thenReturn(List.of(1L));
+        when(bookRepository.searchRows(any(), eq(Sort.by("id")), eq(0L), eq(1)))
+                .thenReturn(rows);
+        when(bookDtoAssembler.withCategoryIds(rows)).thenReturn(List.of(bookDto));
+
+        BookSliceDto result = bookService.search(params, null, PageRequest.of(0, 10));
+
+        assertThat(result.content()).containsExactly(bookDto);
+        verify(bookSearchCache, times(0)).put(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Fetches one extra row for an offset search page instead of counting")
+    void search_OffsetPage_FetchesExtraRowWithoutCount() {
+        BookSearchParametersDto params = new BookSearchParametersDto(
+                null, null, null, null, null, null);
+        BookSearchQuery query = BookSearchQuery.ALL;
+        BookDtoWithoutCategoryIds first = row(3L);
+
+        when(bookSpecificationBuilder.buildQuery(params)).thenReturn(query);
+        when(bookRepository.searchRows(query, Sort.by("id"), 2, 3))
+                .thenReturn(List.of(first, row(4L), row(5L)));
+        when(bookDtoAssembler.withCategoryIds(List.of(first, row(4L))))
+                .thenReturn(List.of(bookDto, updatedDto));
+
+        BookSliceDto result = bookService.search(params, null, PageRequest.of(1, 2));
+
+        assertThat(result.content()).containsExactly(bookDto, updatedDto);
+        assertThat(result.nextCursor())
+                .isEqualTo(bookKeysetCursor.encode(row(4L), Sort.by("id")));
+        verify(bookRepository, times(0)).findAll(any(Specification.class), any(Pageable.class));
+        verify(bookRepository, times(0)).count(any(Specification.class));
     }
 
     private void mockUpdatedBook(CreateBookRequestDto dto,
@@ -214,4 +448,9 @@ class BookServiceTest {
         when(bookRepository.save(book)).thenReturn(updatedBook);
         when(bookMapper.toDto(updatedBook)).thenReturn(updatedDto);
     }
+
+    private BookDtoWithoutCategoryIds row(Long id) {
+        return new BookDtoWithoutCategoryIds(
+                id, "test", "test", "ISBN" + id, BigDecimal.ONE, null, null, null, null);
+    }
 }
@@ -3,21 +3,28 @@ package com.spring.book.management.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.spring.book.management.cache.CategoryBookCountCache;
+import com.spring.book.management.cache.CategorySnapshot;
+import com.spring.book.management.cache.CategorySnapshotCache;
 import com.spring.book.management.dto.CategoryDto;
 import com.spring.book.management.dto.book.BookDtoWithoutCategoryIds;
+import com.spring.book.management.dto.book.CategoryBookSliceDto;
 import com.spring.book.management.exception.CategoryNotFoundException;
-import com.spring.book.management.mapper.BookMapper;
 import com.spring.book.management.mapper.CategoryMapper;
-import com.spring.book.management.model.Book;
 import com.spring.book.management.model.Category;
+import com.spring.book.management.repository.book.BookKeysetCursor;
 import com.spring.book.management.repository.book.BookRepository;
 import com.spring.book.management.repository.category.CategoryRepository;
 import com.spring.book.management.service.impl.CategoryServiceImpl;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,7 +32,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceTest {
@@ -35,8 +46,12 @@ class CategoryServiceTest {
     private CategoryMapper categoryMapper;
     @Mock
     private BookRepository bookRepository;
+    @Spy
+    private BookKeysetCursor bookKeysetCursor = new BookKeysetCursor();
     @Mock
-    private BookMapper bookMapper;
+    private CategoryBookCountCache categoryBookCountCache;
+    @Mock
+    private CategorySnapshotCache categorySnapshotCache;
 
     @InjectMocks
     private CategoryServiceImpl categoryService;
@@ -55,38 +70,57 @@ class CategoryServiceTest {
     }
 
     @Test
-    @DisplayName("Returns all categories as DTOs")
+    @DisplayName("Returns all categories from the snapshot")
     void findAll_ReturnsListOfCategoryDto() {
-        when(categoryRepository.findAll()).thenReturn(List.of(category));
-        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+        when(categorySnapshotCache.get()).thenReturn(snapshot());
 
-        List<CategoryDto> result = categoryService.findAll();
+        List<CategoryDto> result = categoryService.findAll(false);
 
         assertThat(result).hasSize(1).containsExactly(categoryDto);
-        verify(categoryRepository).findAll();
-        verify(categoryMapper).toDto(category);
+        verify(categoryRepository, never()).findAll();
+        verify(categoryBookCountCache, never()).getAll();
+    }
+
+    @Test
+    @DisplayName("Returns the pre-serialized JSON of all categories")
+    void findAllAsJson_ReturnsSnapshotBytes() {
+        CategorySnapshot snapshot = snapshot();
+        when(categorySnapshotCache.get()).thenReturn(snapshot);
+
+        assertThat(categoryService.findAllAsJson()).isSameAs(snapshot.json());
+    }
+
+    @Test
+    @DisplayName("Adds cached book counts to categories when requested")
+    void findAll_WithBookCounts_AddsCachedCounts() {
+        when(categorySnapshotCache.get()).thenReturn(snapshot());
+        when(categoryBookCountCache.getAll()).thenReturn(Map.of(1L, 3L));
+
+        List<CategoryDto> result = categoryService.findAll(true);
+
+        assertThat(result).containsExactly(new CategoryDto(1L, "Test", "Test", 3L));
+        verify(bookRepository, never()).countByCategory();
     }
 
     @Test
     @DisplayName("Returns category by ID")
     void findById_ExistingId_ReturnsCategoryDto() {
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+        when(categorySnapshotCache.get()).thenReturn(snapshot());
 
         CategoryDto result = categoryService.findById(1L);
 
         assertThat(result).isEqualTo(categoryDto);
-        verify(categoryRepository).findById(1L);
+        assertThat(categoryService.findVersion(1L)).isEqualTo(4L);
+        verify(categoryRepository, never()).findById(1L);
     }
 
     @Test
     @DisplayName("Throws CategoryNotFoundException if ID not found")
     void findById_NonExistingId_ThrowsException() {
-        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+        when(categorySnapshotCache.get()).thenReturn(snapshot());
 
         assertThrows(CategoryNotFoundException.class,
                 () -> categoryService.findById(99L));
-        verify(categoryRepository).findById(99L);
     }
 
     @Test
@@ -100,6 +134,7 @@ class CategoryServiceTest {
 
         assertThat(result).isEqualTo(categoryDto);
         verify(categoryRepository).save(category);
+        verify(categorySnapshotCache).refresh();
     }
 
     @Test
@@ -118,6 +153,7 @@ class CategoryServiceTest {
 
         assertThat(result).isEqualTo(updatedDto);
         verify(categoryRepository).save(category);
+        verify(categorySnapshotCache).refresh();
     }
 
     @Test
@@ -140,12 +176,12 @@ class CategoryServiceTest {
 
         verify(categoryRepository).existsById(categoryId);
         verify(categoryRepository).deleteById(categoryId);
+        verify(categorySnapshotCache).refresh();
     }
 
     @Test
     @DisplayName("Returns books by category ID")
     void getBooksByCategoryId_ValidId_ReturnsBookDtoList() {
-        Book book = new Book();
         BookDtoWithoutCategoryIds bookDto = new BookDtoWithoutCategoryIds(
                 1L,
                 "Test",
@@ -153,28 +189,56 @@ class CategoryServiceTest {
                 "Test",
                 BigDecimal.ONE,
                 null,
+                null,
+                null,
                 null
         );
 
-        when(categoryRepository.existsById(1L)).thenReturn(true);
-        when(bookRepository.findByCategories_Id(1L)).thenReturn(List.of(book));
-        when(bookMapper.toDtoWithoutCategories(book)).thenReturn(bookDto);
+        when(bookRepository.findRows(any(Specification.class), eq(Sort.by("id")), eq(0L), eq(11)))
+                .thenReturn(List.of(bookDto));
 
-        List<BookDtoWithoutCategoryIds> result = categoryService.getBooksByCategoryId(1L);
+        CategoryBookSliceDto result =
+                categoryService.getBooksByCategoryId(1L, null, PageRequest.of(0, 10));
 
-        assertThat(result).hasSize(1).containsExactly(bookDto);
-        verify(categoryRepository).existsById(1L);
-        verify(bookRepository).findByCategories_Id(1L);
-        verify(bookMapper).toDtoWithoutCategories(book);
+        assertThat(result.content()).containsExactly(bookDto);
+        assertThat(result.nextCursor()).isNull();
+        verify(categoryRepository, never()).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("Returns a cursor when the category has more books than the page size")
+    void getBooksByCategoryId_MoreBooksThanPage_ReturnsCursor() {
+        BookDtoWithoutCategoryIds first = new BookDtoWithoutCategoryIds(
+                1L, "Test", null, "Test", BigDecimal.ONE, null, null, null, null);
+        BookDtoWithoutCategoryIds second = new BookDtoWithoutCategoryIds(
+                2L, "Test", null, "Test2", BigDecimal.ONE, null, null, null, null);
+
+        when(bookRepository.findRows(any(Specification.class), eq(Sort.by("id")), eq(0L), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        CategoryBookSliceDto result =
+                categoryService.getBooksByCategoryId(1L, null, PageRequest.of(0, 1));
+
+        assertThat(result.content()).containsExactly(first);
+        assertThat(result.nextCursor())
+                .isEqualTo(bookKeysetCursor.encode(first, Sort.by("id")));
     }
 
     @Test
     @DisplayName("Throws exception when getting books for non-existing category")
     void getBooksByCategoryId_NonExistingId_ThrowsException() {
+        when(bookRepository.findRows(any(Specification.class), any(), eq(0L), eq(11)))
+                .thenReturn(List.of());
         when(categoryRepository.existsById(99L)).thenReturn(false);
 
         assertThrows(CategoryNotFoundException.class,
-                () -> categoryService.getBooksByCategoryId(99L));
+                () -> categoryService.getBooksByCategoryId(99L, null, PageRequest.of(0, 10)));
         verify(categoryRepository).existsById(99L);
     }
+
+    private CategorySnapshot snapshot() {
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        return new CategorySnapshot(
+                List.of(new CategorySnapshot.Entry(categoryDto, 4L, json)), json);
+    }
 }
@@ -0,0 +1,90 @@
+package com.spring.book.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.spring.book.management.service.impl.CoverThumbnailServiceImpl;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+@ExtendWith(MockitoExtension.class)
+class CoverThumbnailServiceTest {
+    @Mock
+    private CoverImageService coverImageService;
+    @TempDir
+    private Path directory;
+
+    private CoverThumbnailServiceImpl coverThumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        coverThumbnailService = new CoverThumbnailServiceImpl(coverImageService, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coverThumbnailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Skips a cover whose header declares more pixels than the limit")
+    void enqueue_OversizedImageHeader_SkipsWithoutDecoding() throws Exception {
+        Path oversized = directory.resolve("oversized.png");
+        Files.write(oversized, withDimensions(png(2, 2), 30_000, 30_000));
+        Path valid = directory.resolve("valid.png");
+        Files.write(valid, png(600, 900));
+        when(coverImageService.findByUrl("/oversized"))
+                .thenReturn(new CoverImageService.StoredCover(oversized, "a", MediaType.IMAGE_PNG));
+        when(coverImageService.findByUrl("/valid"))
+                .thenReturn(new CoverImageService.StoredCover(valid, "b", MediaType.IMAGE_PNG));
+        when(coverImageService.store(any(), any())).thenReturn("thumbnail.jpg");
+
+        AtomicBoolean oversizedGenerated = new AtomicBoolean();
+        CompletableFuture<CoverThumbnailService.CoverThumbnails> validGenerated =
+                new CompletableFuture<>();
+        coverThumbnailService.enqueue("/oversized", thumbnails -> oversizedGenerated.set(true));
+        coverThumbnailService.enqueue("/valid", validGenerated::complete);
+
+        // One worker runs tasks in order, so the oversized cover is done once this completes.
+        assertThat(validGenerated.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(oversizedGenerated).isFalse();
+        verify(coverImageService, times(2)).store(any(), any());
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", png);
+        return png.toByteArray();
+    }
+
+    // IHDR directly follows the 8-byte signature.
+    private static byte[] withDimensions(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+}
@@ -0,0 +1,2 @@
+INSERT INTO books_categories (book_id, category_id)
+VALUES (3, 2);
\ No newline at end of file